@@ -0,0 +1,211 @@
+package io.fabric8.launcher.base;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
+
+/**
+ * A zip entry whose contents were already compressed, so it can be raw-copied into a {@link ZipArchiveOutputStream}.
+ * <p>
+ * Compressed contents are cached by content hash: files coming unchanged from the catalog are only deflated once,
+ * while files transformed by the preparers are compressed the first time they are seen.
+ * Contents that are already compressed (eg. .jar, .png, .gz) are STORED instead of deflated.
+ * Files bigger than {@link #CACHE_MAX_ENTRY_BYTES} would never be cached, so they are neither read up front nor hashed:
+ * they are streamed into the zip when the entry is written.
+ */
+final class DeflatedEntry {
+
+    /**
+     * Maximum amount of compressed bytes kept in the cache
+     */
+    private static final long CACHE_MAX_BYTES = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_ZIP_CACHE_MAX_BYTES", String.valueOf(64 * 1024 * 1024)));
+
+    /**
+     * Entries bigger than this are never cached. Files bigger than this are streamed
+     */
+    private static final int CACHE_MAX_ENTRY_BYTES = 4 * 1024 * 1024;
+
+    private static final Set<String> PRECOMPRESSED_EXTENSIONS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "jar", "war", "ear", "zip", "gz", "tgz", "bz2", "xz", "7z",
+            "png", "jpg", "jpeg", "gif", "ico", "webp",
+            "woff", "woff2", "eot", "mp3", "mp4", "pdf")));
+
+    private static final ContentCache CACHE = new ContentCache(CACHE_MAX_BYTES);
+
+    private final ZipArchiveEntry entry;
+
+    private final Compressed compressed;
+
+    /**
+     * The file to be streamed when the entry is written, null if the contents are already compressed
+     */
+    private final Path streamed;
+
+    private DeflatedEntry(ZipArchiveEntry entry, Compressed compressed, Path streamed) {
+        this.entry = entry;
+        this.compressed = compressed;
+        this.streamed = streamed;
+    }
+
+    /**
+     * @return a directory entry, which has no contents
+     */
+    static DeflatedEntry directory(ZipArchiveEntry entry) {
+        return new DeflatedEntry(entry, null, null);
+    }
+
+    /**
+     * @return a {@link DeflatedEntry} holding the compressed contents of the given file, or streaming it if it is too
+     * big to be cached
+     */
+    static DeflatedEntry of(ZipArchiveEntry entry, Path file) throws IOException {
+        boolean stored = isPrecompressed(entry.getName());
+        long size = Files.size(file);
+        if (size > CACHE_MAX_ENTRY_BYTES) {
+            entry.setSize(size);
+            if (stored) {
+                // STORED entries need their CRC before the contents when the target is not seekable
+                entry.setMethod(ZipArchiveEntry.STORED);
+                entry.setCompressedSize(size);
+                entry.setCrc(crcOf(file));
+            } else {
+                entry.setMethod(ZipArchiveEntry.DEFLATED);
+            }
+            return new DeflatedEntry(entry, null, file);
+        }
+        byte[] data = Files.readAllBytes(file);
+        String key = (stored ? "S:" : "D:") + sha256Hex(data);
+        Compressed compressed = CACHE.get(key);
+        if (compressed == null) {
+            compressed = Compressed.of(data, stored);
+            if (compressed.contents.length <= CACHE_MAX_ENTRY_BYTES) {
+                CACHE.put(key, compressed);
+            }
+        }
+        entry.setMethod(compressed.method);
+        entry.setSize(data.length);
+        entry.setCompressedSize(compressed.contents.length);
+        entry.setCrc(compressed.crc);
+        return new DeflatedEntry(entry, compressed, null);
+    }
+
+    void writeTo(ZipArchiveOutputStream zos) throws IOException {
+        if (streamed != null) {
+            zos.putArchiveEntry(entry);
+            Files.copy(streamed, zos);
+            zos.closeArchiveEntry();
+        } else if (compressed == null) {
+            zos.putArchiveEntry(entry);
+            zos.closeArchiveEntry();
+        } else {
+            zos.addRawArchiveEntry(entry, new ByteArrayInputStream(compressed.contents));
+        }
+    }
+
+    private static long crcOf(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[8192];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static boolean isPrecompressed(String name) {
+        int idx = name.lastIndexOf('.');
+        return idx > 0 && PRECOMPRESSED_EXTENSIONS.contains(name.substring(idx + 1).toLowerCase(Locale.ENGLISH));
+    }
+
+    /**
+     * The compressed contents of a file, along with its CRC and the method used
+     */
+    private static final class Compressed {
+
+        private final int method;
+
+        private final byte[] contents;
+
+        private final long crc;
+
+        private Compressed(int method, byte[] contents, long crc) {
+            this.method = method;
+            this.contents = contents;
+            this.crc = crc;
+        }
+
+        static Compressed of(byte[] data, boolean stored) throws IOException {
+            CRC32 crc = new CRC32();
+            crc.update(data, 0, data.length);
+            if (!stored) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream(Math.max(32, data.length / 2));
+                Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+                try (DeflaterOutputStream dos = new DeflaterOutputStream(baos, deflater)) {
+                    dos.write(data);
+                } finally {
+                    deflater.end();
+                }
+                // Not worth it if deflating does not make it any smaller
+                if (baos.size() < data.length) {
+                    return new Compressed(ZipArchiveEntry.DEFLATED, baos.toByteArray(), crc.getValue());
+                }
+            }
+            return new Compressed(ZipArchiveEntry.STORED, data, crc.getValue());
+        }
+    }
+
+    /**
+     * A LRU cache bounded by the total size of the compressed contents
+     */
+    private static final class ContentCache {
+
+        private final long maxBytes;
+
+        private final Map<String, Compressed> entries = new LinkedHashMap<>(256, 0.75f, true);
+
+        private long bytes;
+
+        private ContentCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Compressed get(String key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(String key, Compressed value) {
+            Compressed previous = entries.put(key, value);
+            if (previous != null) {
+                bytes -= previous.contents.length;
+            }
+            bytes += value.contents.length;
+            Iterator<Compressed> it = entries.values().iterator();
+            while (bytes > maxBytes && it.hasNext()) {
+                bytes -= it.next().contents.length;
+                it.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package io.fabric8.launcher.base;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Hashing related operations
+ */
+public final class Hashes {
+
+    private Hashes() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * @return the SHA-256 digest of the given bytes as a lowercase hex string
+     */
+    public static String sha256Hex(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @return the SHA-256 digest of the given UTF-8 string as a lowercase hex string
+     */
+    public static String sha256Hex(String data) {
+        return sha256Hex(data.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,144 @@
+package io.fabric8.launcher.base;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * A bounded LRU cache whose entries are evicted once they are not used for a while, for expensive objects
+ * such as clients that are worth keeping as long as they are in use. Entries may also be given a maximum age, after
+ * which they are loaded again no matter how often they are used.
+ * <p>
+ * Values are loaded outside of the lock, so concurrent misses of the same key may load it twice; the first
+ * value stored wins. A loader that throws stores nothing.
+ */
+public class IdleCache<K, V> {
+
+    private final long idleMillis;
+
+    private final long maxAgeMillis;
+
+    private final Map<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private long lastEviction = System.currentTimeMillis();
+
+    /**
+     * @param idleMillis how long an entry is kept without being used
+     * @param maxEntries the maximum number of entries kept
+     */
+    public IdleCache(long idleMillis, int maxEntries) {
+        this(idleMillis, Long.MAX_VALUE, maxEntries);
+    }
+
+    /**
+     * @param idleMillis   how long an entry is kept without being used
+     * @param maxAgeMillis how long an entry is kept since it was loaded, even if it is used
+     * @param maxEntries   the maximum number of entries kept
+     */
+    public IdleCache(long idleMillis, long maxAgeMillis, int maxEntries) {
+        this.idleMillis = idleMillis;
+        this.maxAgeMillis = maxAgeMillis;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the value for the given key, loading it if needed
+     */
+    public V get(K key, Function<K, V> loader) {
+        final long now = System.currentTimeMillis();
+        synchronized (entries) {
+            evictIdle(now);
+            Entry<V> entry = entries.get(key);
+            if (entry != null && isExpired(entry, now)) {
+                entries.remove(key);
+            } else if (entry != null) {
+                hits.incrementAndGet();
+                entry.lastUsed = now;
+                return entry.value;
+            }
+        }
+        misses.incrementAndGet();
+        V value = loader.apply(key);
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null || isExpired(entry, now)) {
+                entry = new Entry<>(value, now);
+                entries.put(key, entry);
+            }
+            entry.lastUsed = now;
+            return entry.value;
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the ratio of calls served by an existing value
+     */
+    public double getHitRatio() {
+        long hitCount = hits.get();
+        long total = hitCount + misses.get();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private void evictIdle(long now) {
+        // No need to scan the entries on every call
+        if (now - lastEviction < idleMillis / 4) {
+            return;
+        }
+        lastEviction = now;
+        for (Iterator<Entry<V>> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry<V> entry = it.next();
+            if (now - entry.lastUsed > idleMillis || isExpired(entry, now)) {
+                it.remove();
+            }
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return now - entry.created > maxAgeMillis;
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long created;
+
+        private long lastUsed;
+
+        private Entry(V value, long created) {
+            this.value = value;
+            this.created = created;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package io.fabric8.launcher.base;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,13 +11,17 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
 import static java.util.stream.StreamSupport.stream;
 
 public final class JsonUtils {
@@ -34,6 +40,54 @@ public final class JsonUtils {
         return MAPPER.readTree(content);
     }
 
+    /**
+     * Reads a {@link JsonNode} straight from the given {@link InputStream}, without buffering it as a {@link String}
+     *
+     * @return the {@link JsonNode} read or null if the stream is empty
+     */
+    @Nullable
+    public static JsonNode readTree(InputStream content) throws IOException {
+        JsonNode node = MAPPER.readTree(content);
+        return node == null || node.isMissingNode() ? null : node;
+    }
+
+    /**
+     * Streams the elements of a JSON array from the given {@link InputStream} and applies the given {@link Function}
+     * to each one of them, so the whole document is never held in memory as a tree.
+     *
+     * @param content         the JSON content
+     * @param field           the top-level field holding the array, or null if the document itself is an array
+     * @param elementFunction the function applied to each element of the array
+     * @return a {@link List} with the results of the elementFunction, empty if the array is not found
+     */
+    public static <T> List<T> readArray(InputStream content, @Nullable String field, Function<JsonNode, T> elementFunction) throws IOException {
+        List<T> result = new ArrayList<>();
+        try (JsonParser parser = MAPPER.getFactory().createParser(content)) {
+            JsonToken token = parser.nextToken();
+            if (field != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    return result;
+                }
+                while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    token = parser.nextToken();
+                    if (field.equals(name)) {
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            }
+            if (token != JsonToken.START_ARRAY) {
+                return result;
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode element = MAPPER.readTree(parser);
+                result.add(elementFunction.apply(element));
+            }
+        }
+        return result;
+    }
+
     public static void writeTree(JsonNode node, File target) throws IOException {
         final ObjectWriter writer = MAPPER.writer(new DefaultPrettyPrinter());
         writer.writeValue(target, node);
@@ -0,0 +1,73 @@
+package io.fabric8.launcher.base;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the last recorded latencies, in milliseconds, and computes their percentiles.
+ * <p>
+ * Only a fixed window of samples is kept, so the percentiles follow the recent behavior instead of the whole uptime.
+ */
+public class LatencyHistogram {
+
+    private final long[] samples;
+
+    private long count;
+
+    public LatencyHistogram(int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.samples = new long[window];
+    }
+
+    public synchronized void record(long millis) {
+        samples[(int) (count % samples.length)] = millis;
+        count++;
+    }
+
+    /**
+     * @return the number of latencies recorded since this histogram was created
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency below which the given percentage of the samples in the window fall, 0 if none was recorded
+     */
+    public long getPercentile(double percentile) {
+        return percentile(snapshot(), percentile);
+    }
+
+    /**
+     * @return the count and the usual percentiles, suitable to be exposed as JSON
+     */
+    public Map<String, Long> getSummary() {
+        long[] sorted = snapshot();
+        Map<String, Long> summary = new LinkedHashMap<>();
+        summary.put("count", getCount());
+        summary.put("p50", percentile(sorted, 50));
+        summary.put("p90", percentile(sorted, 90));
+        summary.put("p99", percentile(sorted, 99));
+        summary.put("max", percentile(sorted, 100));
+        return summary;
+    }
+
+    private synchronized long[] snapshot() {
+        long[] copy = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        // Nearest-rank method
+        int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length, rank) - 1)];
+    }
+}
@@ -0,0 +1,101 @@
+package io.fabric8.launcher.base;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+import static io.fabric8.launcher.base.PosixFilePermissionSupport.toOctalFileMode;
+
+/**
+ * Zips a directory deflating the entries on a bounded {@link ForkJoinPool}.
+ * <p>
+ * Entries are written to the target stream in the same order {@link Paths#zip(String, Path, OutputStream)} would write them.
+ * At most {@link #WINDOW} deflated entries are kept in memory while waiting for their turn to be written.
+ */
+final class ParallelZip {
+
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private static final int WINDOW = PARALLELISM * 4;
+
+    private ParallelZip() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    static void zip(String root, final Path directory, OutputStream os) throws IOException {
+        try (final ZipArchiveOutputStream zos = new ZipArchiveOutputStream(os)) {
+            Deque<CompletableFuture<DeflatedEntry>> pending = new ArrayDeque<>();
+            Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    String entry = root + File.separator + directory.relativize(file).toString();
+                    ZipArchiveEntry archiveEntry = new ZipArchiveEntry(file.toFile(), entry);
+                    archiveEntry.setUnixMode(toOctalFileMode(Files.getPosixFilePermissions(file)));
+                    enqueue(zos, pending, CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return DeflatedEntry.of(archiveEntry, file);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, Holder.POOL));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    String entry = root + File.separator + directory.relativize(dir).toString() + File.separator;
+                    enqueue(zos, pending, CompletableFuture.completedFuture(DeflatedEntry.directory(new ZipArchiveEntry(entry))));
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+            while (!pending.isEmpty()) {
+                write(zos, pending.removeFirst());
+            }
+        }
+    }
+
+    private static void enqueue(ZipArchiveOutputStream zos, Deque<CompletableFuture<DeflatedEntry>> pending,
+                                CompletableFuture<DeflatedEntry> entry) throws IOException {
+        pending.addLast(entry);
+        while (pending.size() > WINDOW || (!pending.isEmpty() && pending.peekFirst().isDone())) {
+            write(zos, pending.removeFirst());
+        }
+    }
+
+    private static void write(ZipArchiveOutputStream zos, CompletableFuture<DeflatedEntry> future) throws IOException {
+        try {
+            future.get().writeTo(zos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while zipping");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Lazily creates the pool, so it is only started when a parallel zip is requested
+     */
+    private static final class Holder {
+        private static final ForkJoinPool POOL = new ForkJoinPool(PARALLELISM);
+    }
+}
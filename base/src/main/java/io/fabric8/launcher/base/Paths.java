@@ -25,7 +25,6 @@ import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.Enumeration;
@@ -45,25 +44,37 @@ import static io.fabric8.launcher.base.PosixFilePermissionSupport.toPosixFilePer
  */
 public final class Paths {
 
+    /**
+     * Name of the directory, in {@code java.io.tmpdir}, the launcher creates its temporary files and directories in
+     */
+    private static final String TEMP_DIRECTORY = "launcher";
+
     private Paths() {
         throw new IllegalAccessError("Utility class");
     }
 
     /**
-     * Unzip a zip file in a directory
+     * Unzip a zip file in a directory, as it is read from the given {@link InputStream}
      *
      * @param is        the zip file contents to be unzipped
      * @param outputDir the output directory
      * @throws IOException when we could not read the file
      */
     public static void unzip(InputStream is, Path outputDir) throws IOException {
-        Path tmpzip = Files.createTempFile("tmpzip",".zip");
-        try {
-            Files.copy(is, tmpzip, StandardCopyOption.REPLACE_EXISTING);
-            unzip(tmpzip, outputDir);
-        } finally {
-            Files.delete(tmpzip);
-        }
+        unzip(is, outputDir, Integer.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Unzip a zip file in a directory, as it is read from the given {@link InputStream}
+     *
+     * @param is              the zip file contents to be unzipped
+     * @param outputDir       the output directory
+     * @param maxEntries      the maximum number of entries allowed in the zip
+     * @param maxExpandedSize the maximum number of bytes the zip may expand to
+     * @throws IOException when we could not read the file or any of the limits is exceeded
+     */
+    public static void unzip(InputStream is, Path outputDir, int maxEntries, long maxExpandedSize) throws IOException {
+        StreamingUnzip.unzip(is, outputDir, maxEntries, maxExpandedSize);
     }
 
     public static void unzip(Path zip, Path outputDir) throws IOException {
@@ -118,6 +129,23 @@ public final class Paths {
      * @throws IOException if any I/O error happens
      */
     public static void zip(String root, final Path directory, OutputStream os) throws IOException {
+        zip(root, directory, os, false);
+    }
+
+    /**
+     * Zips an entire directory and stores in the provided {@link OutputStream}
+     *
+     * @param root      the root directory to be used
+     * @param directory the directory to be zipped
+     * @param os        the {@link OutputStream} which the zip operation will be written to
+     * @param parallel  if the entries should be deflated in parallel. The entries are written in the same order either way
+     * @throws IOException if any I/O error happens
+     */
+    public static void zip(String root, final Path directory, OutputStream os, boolean parallel) throws IOException {
+        if (parallel) {
+            ParallelZip.zip(root, directory, os);
+            return;
+        }
         try (final ZipArchiveOutputStream zos = new ZipArchiveOutputStream(os)) {
             Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
                 @Override
@@ -125,9 +153,7 @@ public final class Paths {
                     String entry = root + File.separator + directory.relativize(file).toString();
                     ZipArchiveEntry archiveEntry = new ZipArchiveEntry(file.toFile(), entry);
                     archiveEntry.setUnixMode(toOctalFileMode(Files.getPosixFilePermissions(file)));
-                    zos.putArchiveEntry(archiveEntry);
-                    Files.copy(file, zos);
-                    zos.closeArchiveEntry();
+                    DeflatedEntry.of(archiveEntry, file).writeTo(zos);
                     return FileVisitResult.CONTINUE;
                 }
 
@@ -142,19 +168,51 @@ public final class Paths {
         }
     }
 
+    /**
+     * The directory the launcher creates its temporary files and directories in, so they can be told apart from
+     * anything else in {@code java.io.tmpdir} (eg. when sweeping the ones left behind by a previous run)
+     *
+     * @return the launcher temporary directory, created if needed
+     * @throws IOException when the directory could not be created
+     */
+    public static Path tempDirectory() throws IOException {
+        return Files.createDirectories(java.nio.file.Paths.get(System.getProperty("java.io.tmpdir"), TEMP_DIRECTORY));
+    }
+
+    /**
+     * Creates a new directory in the launcher temporary directory
+     *
+     * @see #tempDirectory()
+     */
+    public static Path createTempDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory(tempDirectory(), prefix);
+    }
+
+    /**
+     * Creates a new file in the launcher temporary directory
+     *
+     * @see #tempDirectory()
+     */
+    public static Path createTempFile(String prefix, String suffix) throws IOException {
+        return Files.createTempFile(tempDirectory(), prefix, suffix);
+    }
+
     /**
      * Deletes a directory recursively
      *
      * @param directory
+     * @return the number of bytes freed
      * @throws IOException
      */
-    public static void deleteDirectory(Path directory) throws IOException {
+    public static long deleteDirectory(Path directory) throws IOException {
+        final long[] bytes = {0};
         if (Files.exists(directory)) {
             Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
                 @Override
                 public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
                     try {
                         Files.delete(file);
+                        bytes[0] += attrs.size();
                     } catch (NoSuchFileException ignore) {
                         // Ignore if file is already removed by other process
                     }
@@ -168,6 +226,7 @@ public final class Paths {
                 }
             });
         }
+        return bytes[0];
     }
 
     /**
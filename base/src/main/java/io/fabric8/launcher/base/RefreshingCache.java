@@ -0,0 +1,191 @@
+package io.fabric8.launcher.base;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded LRU cache of asynchronously loaded values, refreshed in the background (stale-while-revalidate).
+ * <p>
+ * A value younger than the TTL is returned as is. An older value is still returned right away while a refresh
+ * runs in the background, until it is older than the maximum staleness allowed. Concurrent loads of the same key
+ * share the same future, and failed loads are never kept.
+ * <p>
+ * Background refreshes call the loader on the given executor, so a stale hit never waits for a loader that blocks.
+ */
+public class RefreshingCache<K, V> {
+
+    private static final Logger log = Logger.getLogger(RefreshingCache.class.getName());
+
+    private final long ttlMillis;
+
+    private final long maxStaleMillis;
+
+    private final Map<K, Entry<V>> entries;
+
+    private final Executor refreshExecutor;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong staleHits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Refreshes call the loader on the calling thread, for loaders that never block
+     *
+     * @param ttlMillis      how long a value is served without being refreshed
+     * @param maxStaleMillis how long a value may be served while it is refreshed in the background
+     * @param maxEntries     the maximum number of keys kept
+     */
+    public RefreshingCache(long ttlMillis, long maxStaleMillis, int maxEntries) {
+        this(ttlMillis, maxStaleMillis, maxEntries, Runnable::run);
+    }
+
+    /**
+     * @param ttlMillis       how long a value is served without being refreshed
+     * @param maxStaleMillis  how long a value may be served while it is refreshed in the background
+     * @param maxEntries      the maximum number of keys kept
+     * @param refreshExecutor calls the loader when a stale value is refreshed
+     */
+    public RefreshingCache(long ttlMillis, long maxStaleMillis, int maxEntries, Executor refreshExecutor) {
+        this.ttlMillis = ttlMillis;
+        this.maxStaleMillis = Math.max(ttlMillis, maxStaleMillis);
+        this.refreshExecutor = refreshExecutor;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the value for the given key, loading it if needed
+     *
+     * @param key    the key
+     * @param loader loads the value for the key
+     * @return a future holding the value
+     */
+    public CompletableFuture<V> get(K key, Function<K, CompletableFuture<V>> loader) {
+        final long now = System.currentTimeMillis();
+        final Entry<V> current;
+        final Entry<V> loading;
+        final boolean refresh;
+        synchronized (entries) {
+            Entry<V> existing = entries.get(key);
+            if (existing == null || (existing.isLoaded() && now - existing.loadedAt > maxStaleMillis)) {
+                misses.incrementAndGet();
+                current = new Entry<>();
+                loading = current;
+                refresh = false;
+                entries.put(key, current);
+            } else if (!existing.isLoaded() || now - existing.loadedAt <= ttlMillis) {
+                hits.incrementAndGet();
+                return existing.future;
+            } else if (existing.refreshing) {
+                staleHits.incrementAndGet();
+                return existing.future;
+            } else {
+                staleHits.incrementAndGet();
+                current = existing;
+                current.refreshing = true;
+                loading = new Entry<>();
+                refresh = true;
+                loading.future.whenComplete((value, error) -> refreshed(key, current, loading, error));
+            }
+        }
+        // Loaders may block, never call them while holding the lock
+        if (refresh) {
+            try {
+                refreshExecutor.execute(() -> load(key, loading, loader));
+            } catch (RuntimeException e) {
+                loading.future.completeExceptionally(e);
+            }
+        } else {
+            load(key, loading, loader);
+        }
+        return current.future;
+    }
+
+    /**
+     * Discards the value for the given key
+     */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of times a stale value was returned while being refreshed
+     */
+    public long getStaleHits() {
+        return staleHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private void refreshed(K key, Entry<V> stale, Entry<V> refreshed, Throwable error) {
+        synchronized (entries) {
+            if (error == null) {
+                entries.replace(key, stale, refreshed);
+            } else {
+                log.log(Level.FINE, "Error while refreshing " + key + ", keeping the stale value", error);
+                stale.refreshing = false;
+            }
+        }
+    }
+
+    private void load(K key, Entry<V> entry, Function<K, CompletableFuture<V>> loader) {
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.apply(key);
+        } catch (RuntimeException e) {
+            loading = new CompletableFuture<>();
+            loading.completeExceptionally(e);
+        }
+        loading.whenComplete((value, error) -> {
+            if (error != null) {
+                // Failed loads are not kept
+                synchronized (entries) {
+                    entries.remove(key, entry);
+                }
+                entry.future.completeExceptionally(error);
+            } else {
+                entry.loadedAt = System.currentTimeMillis();
+                entry.future.complete(value);
+            }
+        });
+    }
+
+    private static final class Entry<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        private volatile long loadedAt = -1;
+
+        private boolean refreshing;
+
+        private boolean isLoaded() {
+            return loadedAt >= 0;
+        }
+    }
+}
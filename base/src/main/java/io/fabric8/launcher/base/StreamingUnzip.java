@@ -0,0 +1,204 @@
+package io.fabric8.launcher.base;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+
+import static io.fabric8.launcher.base.PosixFilePermissionSupport.toPosixFilePermissions;
+
+/**
+ * Extracts a zip while it is being read from an {@link InputStream}, without copying it to a temporary file first.
+ * <p>
+ * Local file headers do not carry the file modes, so the central directory at the end of the stream is kept
+ * in a bounded buffer and the POSIX modes are restored once all entries are extracted.
+ */
+final class StreamingUnzip {
+
+    private static final Logger log = Logger.getLogger(StreamingUnzip.class.getName());
+
+    /**
+     * Maximum size of the central directory kept to restore the file modes
+     */
+    private static final int MAX_CENTRAL_DIRECTORY_BYTES = 1024 * 1024;
+
+    private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+
+    private static final int PLATFORM_UNIX = 3;
+
+    private StreamingUnzip() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    static void unzip(InputStream is, Path outputDir, int maxEntries, long maxExpandedSize) throws IOException {
+        TailInputStream tail = new TailInputStream(is, MAX_CENTRAL_DIRECTORY_BYTES + END_OF_CENTRAL_DIRECTORY_LENGTH);
+        Map<String, Path> files = new HashMap<>();
+        Map<String, Integer> modes = new HashMap<>();
+        int entries = 0;
+        long expandedSize = 0;
+        byte[] buffer = new byte[8192];
+        try (ZipArchiveInputStream zis = new ZipArchiveInputStream(tail, StandardCharsets.UTF_8.name(), true, true)) {
+            ZipArchiveEntry zipEntry;
+            while ((zipEntry = zis.getNextZipEntry()) != null) {
+                if (++entries > maxEntries) {
+                    throw new IOException("Zip has more than " + maxEntries + " entries");
+                }
+                Path entry = outputDir.resolve(zipEntry.getName()).normalize();
+                if (!entry.startsWith(outputDir)) {
+                    throw new IOException("Entry is outside of the target dir: " + zipEntry.getName());
+                }
+                if (zipEntry.isDirectory()) {
+                    Files.createDirectories(entry);
+                } else {
+                    if (!Files.isDirectory(entry.getParent())) {
+                        Files.createDirectories(entry.getParent());
+                    }
+                    try (OutputStream os = Files.newOutputStream(entry, StandardOpenOption.CREATE_NEW)) {
+                        int read;
+                        while ((read = zis.read(buffer)) != -1) {
+                            expandedSize += read;
+                            if (expandedSize > maxExpandedSize) {
+                                throw new IOException("Zip expands to more than " + maxExpandedSize + " bytes");
+                            }
+                            os.write(buffer, 0, read);
+                        }
+                    }
+                    files.put(zipEntry.getName(), entry);
+                    // Only present when the zip has the ASi extra field
+                    if (zipEntry.getUnixMode() != 0) {
+                        modes.put(zipEntry.getName(), zipEntry.getUnixMode());
+                    }
+                }
+            }
+            // Read the remaining central directory
+            while (tail.read(buffer) != -1) {
+                // Just consume it
+            }
+        }
+        if (modes.size() < files.size()) {
+            readCentralDirectoryModes(tail.tail(), modes);
+        }
+        for (Map.Entry<String, Integer> mode : modes.entrySet()) {
+            Path file = files.get(mode.getKey());
+            if (file != null && mode.getValue() != 0) {
+                Files.setPosixFilePermissions(file, toPosixFilePermissions(mode.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Parses the central directory found at the end of the given bytes, collecting the unix modes by entry name
+     */
+    private static void readCentralDirectoryModes(byte[] tail, Map<String, Integer> modes) {
+        ByteBuffer buffer = ByteBuffer.wrap(tail).order(ByteOrder.LITTLE_ENDIAN);
+        int eocd = -1;
+        for (int i = tail.length - END_OF_CENTRAL_DIRECTORY_LENGTH; i >= 0; i--) {
+            if (buffer.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd < 0) {
+            log.log(Level.FINE, "End of central directory not found, file modes will not be restored");
+            return;
+        }
+        long size = buffer.getInt(eocd + 12) & 0xFFFFFFFFL;
+        if (size > eocd) {
+            log.log(Level.WARNING, "Central directory is too big ({0} bytes), file modes will not be restored", size);
+            return;
+        }
+        int pos = eocd - (int) size;
+        while (pos + 46 <= eocd && buffer.getInt(pos) == CENTRAL_DIRECTORY_SIGNATURE) {
+            int versionMadeBy = buffer.getShort(pos + 4) & 0xFFFF;
+            int nameLength = buffer.getShort(pos + 28) & 0xFFFF;
+            int extraLength = buffer.getShort(pos + 30) & 0xFFFF;
+            int commentLength = buffer.getShort(pos + 32) & 0xFFFF;
+            long externalAttributes = buffer.getInt(pos + 38) & 0xFFFFFFFFL;
+            String name = new String(tail, pos + 46, nameLength, StandardCharsets.UTF_8);
+            if ((versionMadeBy >> 8) == PLATFORM_UNIX) {
+                modes.putIfAbsent(name, (int) ((externalAttributes >> 16) & 0xFFFF));
+            }
+            pos += 46 + nameLength + extraLength + commentLength;
+        }
+    }
+
+    /**
+     * Keeps the last bytes read from the wrapped {@link InputStream}
+     */
+    private static final class TailInputStream extends FilterInputStream {
+
+        private final byte[] ring;
+
+        private long total;
+
+        TailInputStream(InputStream in, int capacity) {
+            super(in);
+            this.ring = new byte[capacity];
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                ring[(int) (total++ % ring.length)] = (byte) b;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = in.read(b, off, len);
+            if (read > 0) {
+                int from = off + Math.max(0, read - ring.length);
+                int length = Math.min(read, ring.length);
+                total += read - length;
+                int start = (int) (total % ring.length);
+                int first = Math.min(length, ring.length - start);
+                System.arraycopy(b, from, ring, start, first);
+                System.arraycopy(b, from + first, ring, 0, length - first);
+                total += length;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes must go through the ring too
+            byte[] skipped = new byte[(int) Math.min(n, 8192)];
+            int read = read(skipped, 0, skipped.length);
+            return Math.max(read, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        byte[] tail() {
+            int length = (int) Math.min(total, ring.length);
+            byte[] result = new byte[length];
+            int start = (int) ((total - length) % ring.length);
+            int first = Math.min(length, ring.length - start);
+            System.arraycopy(ring, start, result, 0, first);
+            System.arraycopy(ring, 0, result, first, length - first);
+            return result;
+        }
+    }
+}
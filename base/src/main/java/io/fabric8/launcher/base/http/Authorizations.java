@@ -1,6 +1,8 @@
 package io.fabric8.launcher.base.http;
 
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
@@ -9,7 +11,9 @@ import io.fabric8.launcher.base.identity.Identity;
 import io.fabric8.launcher.base.identity.IdentityVisitor;
 import io.fabric8.launcher.base.identity.TokenIdentity;
 import io.fabric8.launcher.base.identity.UserPasswordIdentity;
+import okhttp3.Request;
 
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
 import static java.util.Objects.requireNonNull;
 
 public final class Authorizations {
@@ -18,6 +22,13 @@ public final class Authorizations {
 
     private static final Predicate<String> TOKEN_PREDICATE = Pattern.compile("^\\S+$").asPredicate();
 
+    /**
+     * Headers carrying the credentials or the user a request is made on behalf of (eg. Gitea sudo,
+     * Kubernetes impersonation)
+     */
+    private static final List<String> IDENTITY_HEADERS = Arrays.asList(
+            "Authorization", "Private-Token", "Sudo", "Impersonate-User", "Impersonate-Group", "Cookie");
+
     private Authorizations() {
         throw new IllegalAccessError("Utility class");
     }
@@ -69,6 +80,22 @@ public final class Authorizations {
         return bearerAuthenticationHeader.substring(BEARER_PREFIX.length());
     }
 
+    /**
+     * Identifies who a request is made for, so requests made for different users can be told apart
+     *
+     * @param request the request
+     * @return a hash of the identity headers of the request, null if it has none
+     */
+    public static String principalOf(Request request) {
+        StringBuilder identity = new StringBuilder();
+        for (String header : IDENTITY_HEADERS) {
+            for (String value : request.headers(header)) {
+                identity.append(header).append(": ").append(value).append('\n');
+            }
+        }
+        return identity.length() == 0 ? null : sha256Hex(identity.toString());
+    }
+
     public static boolean isBearerAuthentication(final String authenticationHeader) {
         return authenticationHeader != null && BEARER_AUTHENTICATION_MATCHER.test(authenticationHeader);
     }
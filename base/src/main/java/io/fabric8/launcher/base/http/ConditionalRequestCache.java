@@ -0,0 +1,165 @@
+package io.fabric8.launcher.base.http;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.cache2k.Cache;
+import org.cache2k.Cache2kBuilder;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+/**
+ * An OkHttp {@link Interceptor} that keeps the responses of GET requests carrying an {@code ETag} or {@code Last-Modified}
+ * header and revalidates them with conditional requests ({@code If-None-Match}/{@code If-Modified-Since}).
+ * <p>
+ * A {@code 304 Not Modified} is answered with the cached response, so callers never see it.
+ * Entries are partitioned by the hash of the credentials and of the user the request is made on behalf of
+ * (eg. the Gitea {@code Sudo} header), so a cached response is only ever returned to requests made for the same user.
+ */
+public class ConditionalRequestCache implements Interceptor {
+
+    private static final long MAX_BYTES = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_HTTP_CACHE_MAX_BYTES", String.valueOf(32L * 1024 * 1024)));
+
+    /**
+     * Responses bigger than this are never cached
+     */
+    private static final long MAX_ENTRY_BYTES = 1024 * 1024;
+
+    private final Cache<String, CachedResponse> cache;
+
+    private final AtomicLong revalidated = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    public ConditionalRequestCache() {
+        this(MAX_BYTES);
+    }
+
+    public ConditionalRequestCache(long maxBytes) {
+        this.cache = Cache2kBuilder.of(String.class, CachedResponse.class)
+                .expireAfterWrite(1, TimeUnit.HOURS)
+                .weigher((key, value) -> value.body.length)
+                .maximumWeight(maxBytes)
+                .build();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (!"GET".equals(request.method())
+                || request.header("If-None-Match") != null
+                || request.header("If-Modified-Since") != null) {
+            return chain.proceed(request);
+        }
+        String key = SingleFlight.keyOf(request);
+        CachedResponse cached = cache.peek(key);
+        Request conditionalRequest = request;
+        if (cached != null) {
+            Request.Builder builder = request.newBuilder();
+            if (cached.etag != null) {
+                builder.header("If-None-Match", cached.etag);
+            }
+            if (cached.lastModified != null) {
+                builder.header("If-Modified-Since", cached.lastModified);
+            }
+            conditionalRequest = builder.build();
+        }
+        Response response = chain.proceed(conditionalRequest);
+        if (cached != null && response.code() == 304) {
+            revalidated.incrementAndGet();
+            Response result = cached.toResponse(request, response);
+            response.close();
+            return result;
+        }
+        misses.incrementAndGet();
+        if (response.code() == 200) {
+            store(key, response);
+        } else {
+            cache.remove(key);
+        }
+        return response;
+    }
+
+    /**
+     * @return the number of requests answered from the cache after a {@code 304 Not Modified}
+     */
+    public long getRevalidated() {
+        return revalidated.get();
+    }
+
+    /**
+     * @return the number of requests that had to be fetched from upstream
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private void store(String key, Response response) throws IOException {
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        ResponseBody body = response.body();
+        if ((etag == null && lastModified == null) || body == null || body.contentLength() > MAX_ENTRY_BYTES) {
+            return;
+        }
+        // Peeking does not consume the body, so the response can be returned as is
+        ResponseBody peeked = response.peekBody(MAX_ENTRY_BYTES + 1);
+        byte[] bytes = peeked.bytes();
+        if (bytes.length <= MAX_ENTRY_BYTES) {
+            cache.put(key, new CachedResponse(response, body.contentType(), bytes, etag, lastModified));
+        }
+    }
+
+    private static final class CachedResponse {
+
+        private final int code;
+
+        private final String message;
+
+        private final Headers headers;
+
+        @Nullable
+        private final MediaType contentType;
+
+        private final byte[] body;
+
+        @Nullable
+        private final String etag;
+
+        @Nullable
+        private final String lastModified;
+
+        private CachedResponse(Response response, @Nullable MediaType contentType, byte[] body,
+                               @Nullable String etag, @Nullable String lastModified) {
+            this.code = response.code();
+            this.message = response.message();
+            this.headers = response.headers();
+            this.contentType = contentType;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        private Response toResponse(Request request, Response notModified) {
+            return new Response.Builder()
+                    .request(request)
+                    .protocol(notModified.protocol() == null ? Protocol.HTTP_1_1 : notModified.protocol())
+                    .code(code)
+                    .message(message)
+                    // Keep the fresh rate limit headers sent with the 304
+                    .headers(headers.newBuilder().addAll(notModified.headers()).build())
+                    .body(ResponseBody.create(contentType, body))
+                    .sentRequestAtMillis(notModified.sentRequestAtMillis())
+                    .receivedResponseAtMillis(notModified.receivedResponseAtMillis())
+                    .build();
+        }
+    }
+}
@@ -3,8 +3,11 @@ package io.fabric8.launcher.base.http;
 import java.io.IOException;
 import java.net.Socket;
 import java.security.cert.X509Certificate;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -17,10 +20,12 @@ import javax.net.ssl.X509ExtendedTrustManager;
 import javax.net.ssl.X509TrustManager;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
 import io.fabric8.launcher.base.JsonUtils;
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -37,6 +42,14 @@ public class HttpClient {
 
     private final OkHttpClient client;
 
+    private final SingleFlight<JsonNode> inFlight = new SingleFlight<>();
+
+    @Nullable
+    private volatile HttpClient conditional;
+
+    @Nullable
+    private volatile ConditionalRequestCache conditionalRequestCache;
+
     private HttpClient(final OkHttpClient client) {
         this.client = requireNonNull(client, "client must be specified.");
     }
@@ -67,6 +80,20 @@ public class HttpClient {
         return content;
     }
 
+    /**
+     * Utility function reading the body as JSON, straight from its byte stream
+     * @param body Response stream from the server
+     * @return the {@link JsonNode} read, a {@link com.fasterxml.jackson.databind.node.NullNode} if the body is null or empty
+     * @throws IOException
+     */
+    public static JsonNode readJson(@Nullable ResponseBody body) throws IOException {
+        if (body == null) {
+            return NullNode.getInstance();
+        }
+        JsonNode node = JsonUtils.readTree(body.byteStream());
+        return node == null ? NullNode.getInstance() : node;
+    }
+
     /**
      * Constructs a {@link HttpClient} object by using the provided {@link ExecutorService} (which can be null) to make async calls.
      *
@@ -87,6 +114,47 @@ public class HttpClient {
         return client;
     }
 
+    /**
+     * Returns a {@link HttpClient} sharing the connections and dispatcher of this one, whose GET requests are
+     * revalidated with the {@link ConditionalRequestCache}. The same instance is returned on every call.
+     *
+     * @return a {@link HttpClient} caching responses with an ETag or Last-Modified header
+     */
+    public HttpClient withConditionalRequestCache() {
+        HttpClient result = conditional;
+        if (result == null) {
+            synchronized (this) {
+                result = conditional;
+                if (result == null) {
+                    ConditionalRequestCache cache = new ConditionalRequestCache();
+                    result = new HttpClient(addInterceptor(client.newBuilder(), cache).build());
+                    result.conditionalRequestCache = cache;
+                    conditional = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new {@link HttpClient} sharing the connections and dispatcher of this one, with the given interceptor added
+     *
+     * @param interceptor the application {@link Interceptor} to add
+     * @return a new {@link HttpClient}
+     */
+    public HttpClient withInterceptor(Interceptor interceptor) {
+        HttpClient result = new HttpClient(addInterceptor(client.newBuilder(), interceptor).build());
+        result.conditionalRequestCache = conditionalRequestCache;
+        return result;
+    }
+
+    /**
+     * @return the {@link ConditionalRequestCache} used by this client, if any
+     */
+    public Optional<ConditionalRequestCache> getConditionalRequestCache() {
+        return Optional.ofNullable(conditionalRequestCache);
+    }
+
     @Nullable
     @SuppressWarnings("squid:S1192")
     public <T> T executeAndMap(Request request, Function<Response, T> mapFunction) {
@@ -113,9 +181,57 @@ public class HttpClient {
         }
     }
 
+    /**
+     * Executes the request and parses the JSON response.
+     * Concurrent identical GET requests (same URL and principal) share a single upstream call
+     */
     public <T> Optional<T> executeAndParseJson(Request request, Function<JsonNode, T> jsonNodeFunction) {
-        try (Response response = client.newCall(request).execute()) {
-            return parseJson(jsonNodeFunction, response);
+        if (!SingleFlight.isCoalescable(request)) {
+            try (Response response = client.newCall(request).execute()) {
+                return parseJson(jsonNodeFunction, response);
+            } catch (IOException e) {
+                throw new HttpException("Error while executing request", e);
+            }
+        }
+        CompletableFuture<JsonNode> tree = inFlight.execute(SingleFlight.keyOf(request), future -> {
+            try (Response response = client.newCall(request).execute()) {
+                future.complete(readTree(response));
+            } catch (IOException e) {
+                future.completeExceptionally(new HttpException("Error while executing request", e));
+            }
+        });
+        try {
+            return applyJson(jsonNodeFunction, tree.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HttpException("Error while executing request", e.getCause());
+        }
+    }
+
+    /**
+     * Executes the request and streams the elements of the JSON array in the response, applying the given function to each one.
+     * The response is never held in memory as a whole
+     *
+     * @param request         the request to execute
+     * @param field           the top-level field holding the array, or null if the response itself is an array
+     * @param elementFunction the function applied to each element of the array
+     * @return the results of the elementFunction, an empty list if the resource is not found
+     */
+    public <T> List<T> executeAndParseJsonArray(Request request, @Nullable String field, Function<JsonNode, T> elementFunction) {
+        try (Response response = client.newCall(request).execute();
+             final ResponseBody body = response.body()) {
+            if (response.isSuccessful()) {
+                if (body == null) {
+                    return Collections.emptyList();
+                }
+                return JsonUtils.readArray(body.byteStream(), field, elementFunction);
+            } else if (response.code() == 404) {
+                return Collections.emptyList();
+            }
+            final String details = body != null ? body.string() : "No details";
+            throw new HttpException(response.code(), String.format("HTTP Error %s: %s.", response.code(), details));
         } catch (IOException e) {
             throw new HttpException("Error while executing request", e);
         }
@@ -143,7 +259,30 @@ public class HttpClient {
         return future;
     }
 
+    /**
+     * Executes the request asynchronously and parses the JSON response.
+     * Concurrent identical GET requests (same URL and principal) share a single upstream call
+     */
     public <T> CompletableFuture<Optional<T>> executeAndParseJsonAsync(Request request, final Function<JsonNode, T> jsonNodeFunction) {
+        if (SingleFlight.isCoalescable(request)) {
+            return inFlight.execute(SingleFlight.keyOf(request), future -> client.newCall(request).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    future.completeExceptionally(e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try {
+                        future.complete(readTree(response));
+                    } catch (@SuppressWarnings("squid:S1181") final Throwable e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        response.close();
+                    }
+                }
+            })).thenApply(tree -> applyJson(jsonNodeFunction, tree));
+        }
         final CompletableFuture<Optional<T>> future = new CompletableFuture<>();
         client.newCall(request).enqueue(new Callback() {
             @Override
@@ -165,27 +304,54 @@ public class HttpClient {
         return future;
     }
 
-    private <T> Optional<T> parseJson(Function<JsonNode, T> jsonNodeFunction, Response response) throws IOException {
+    /**
+     * @return the number of upstream calls made for coalescable requests
+     */
+    public long getUpstreamCalls() {
+        return inFlight.getExecuted();
+    }
+
+    /**
+     * @return the number of calls that shared the result of an identical in-flight request
+     */
+    public long getCoalescedCalls() {
+        return inFlight.getCoalesced();
+    }
 
+    /**
+     * @return the number of coalescable requests currently running
+     */
+    public int getInFlightCalls() {
+        return inFlight.getInFlight();
+    }
+
+    private static <T> Optional<T> applyJson(@Nullable Function<JsonNode, T> jsonNodeFunction, @Nullable JsonNode tree) {
+        if (tree == null || jsonNodeFunction == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(jsonNodeFunction.apply(tree));
+    }
+
+    /**
+     * @return the JSON tree of a successful response, null if it is empty or not found
+     */
+    @Nullable
+    private static JsonNode readTree(Response response) throws IOException {
         try (final ResponseBody body = response.body()) {
             if (response.isSuccessful()) {
-                if (body == null || jsonNodeFunction == null) {
-                    return Optional.empty();
-                }
-                String bodyString = body.string();
-                if (bodyString == null || bodyString.isEmpty()) {
-                    return Optional.empty();
-                }
-                JsonNode tree = JsonUtils.readTree(bodyString);
-                return Optional.ofNullable(jsonNodeFunction.apply(tree));
+                return body == null ? null : JsonUtils.readTree(body.byteStream());
             } else if (response.code() == 404) {
-                return Optional.empty();
+                return null;
             }
             final String details = body != null ? body.string() : "No details";
             throw new HttpException(response.code(), String.format("HTTP Error %s: %s.", response.code(), details));
         }
     }
 
+    private static <T> Optional<T> parseJson(Function<JsonNode, T> jsonNodeFunction, Response response) throws IOException {
+        return applyJson(jsonNodeFunction, readTree(response));
+    }
+
     private static final TrustManager[] trustAllCerts = {
             new X509ExtendedTrustManager() {
 
@@ -226,6 +392,17 @@ public class HttpClient {
             }
     };
 
+    /**
+     * Adds the interceptor before the {@link ResilienceInterceptor}, so time spent in other interceptors
+     * (eg. waiting for rate limit budget) does not hold a bulkhead permit
+     */
+    private static OkHttpClient.Builder addInterceptor(OkHttpClient.Builder builder, Interceptor interceptor) {
+        List<Interceptor> interceptors = builder.interceptors();
+        int index = interceptors.indexOf(ResilienceInterceptor.getInstance());
+        interceptors.add(index < 0 ? interceptors.size() : index, interceptor);
+        return builder;
+    }
+
     private static OkHttpClient createClient(@Nullable ExecutorService executorService) {
         OkHttpClient.Builder builder = new OkHttpClient.Builder();
         try {
@@ -240,6 +417,7 @@ public class HttpClient {
         if (executorService != null) {
             builder.dispatcher(new Dispatcher(executorService));
         }
+        builder.addInterceptor(ResilienceInterceptor.getInstance());
         return builder.build();
     }
 
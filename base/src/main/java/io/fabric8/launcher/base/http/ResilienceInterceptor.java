@@ -0,0 +1,187 @@
+package io.fabric8.launcher.base.http;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.jodah.failsafe.CircuitBreaker;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+
+/**
+ * Guards the calls made to each upstream host with a concurrency bulkhead, per-call timeouts and a circuit breaker,
+ * so a degraded upstream fails fast instead of tying up the threads calling the other ones.
+ * <p>
+ * Connection failures and 5xx responses count as failures. When the breaker of a host is open, or its bulkhead
+ * has no permit left after {@code LAUNCHER_HTTP_BULKHEAD_WAIT_MILLIS}, the call fails with an {@link UpstreamUnavailableException}.
+ * A call holds its bulkhead permit until its response body is closed, since the body is still read from the upstream.
+ */
+public final class ResilienceInterceptor implements Interceptor {
+
+    private static final Logger log = Logger.getLogger(ResilienceInterceptor.class.getName());
+
+    private static final int MAX_CONCURRENT_CALLS = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_HTTP_BULKHEAD_MAX_CALLS", "50"));
+
+    private static final long BULKHEAD_WAIT_MILLIS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_HTTP_BULKHEAD_WAIT_MILLIS", "1000"));
+
+    private static final int CONNECT_TIMEOUT_MILLIS = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_HTTP_CONNECT_TIMEOUT_MILLIS", "10000"));
+
+    private static final int READ_TIMEOUT_MILLIS = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_HTTP_READ_TIMEOUT_MILLIS", "30000"));
+
+    private static final int BREAKER_FAILURES = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_HTTP_BREAKER_FAILURES", "10"));
+
+    private static final int BREAKER_EXECUTIONS = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_HTTP_BREAKER_EXECUTIONS", "20"));
+
+    private static final long BREAKER_DELAY_MILLIS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_HTTP_BREAKER_DELAY_MILLIS", "30000"));
+
+    private static final ResilienceInterceptor INSTANCE = new ResilienceInterceptor();
+
+    private final ConcurrentMap<String, Upstream> upstreams = new ConcurrentHashMap<>();
+
+    private ResilienceInterceptor() {
+    }
+
+    public static ResilienceInterceptor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the upstream hosts called so far
+     */
+    public Collection<Upstream> getUpstreams() {
+        return Collections.unmodifiableCollection(upstreams.values());
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Upstream upstream = upstreams.computeIfAbsent(request.url().host(), Upstream::new);
+        if (!upstream.breaker.allowsExecution()) {
+            upstream.rejected.incrementAndGet();
+            throw new UpstreamUnavailableException("Circuit breaker is open for " + upstream.host);
+        }
+        if (isLongLived(request)) {
+            // Watches and websockets are expected to stay open, they are neither timed out nor counted by the bulkhead
+            return chain.proceed(request);
+        }
+        try {
+            if (!upstream.bulkhead.tryAcquire(BULKHEAD_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                upstream.rejected.incrementAndGet();
+                throw new UpstreamUnavailableException("Too many concurrent calls to " + upstream.host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted while waiting to call " + upstream.host);
+        }
+        Response response;
+        try {
+            response = chain
+                    .withConnectTimeout(CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                    .withReadTimeout(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                    .withWriteTimeout(READ_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)
+                    .proceed(request);
+        } catch (IOException | RuntimeException e) {
+            upstream.breaker.recordFailure();
+            upstream.bulkhead.release();
+            throw e;
+        }
+        if (response.code() >= 500) {
+            upstream.breaker.recordFailure();
+        } else {
+            upstream.breaker.recordSuccess();
+        }
+        return releasingOnClose(response, upstream);
+    }
+
+    /**
+     * Hands the bulkhead permit over to the response body, so it is released once the body is closed
+     */
+    private static Response releasingOnClose(Response response, Upstream upstream) {
+        ResponseBody body = response.body();
+        if (body == null) {
+            upstream.bulkhead.release();
+            return response;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        ForwardingSource source = new ForwardingSource(body.source()) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        upstream.bulkhead.release();
+                    }
+                }
+            }
+        };
+        return response.newBuilder()
+                .body(ResponseBody.create(body.contentType(), body.contentLength(), Okio.buffer(source)))
+                .build();
+    }
+
+    private static boolean isLongLived(Request request) {
+        return "true".equals(request.url().queryParameter("watch")) || request.header("Upgrade") != null;
+    }
+
+    /**
+     * The state of the calls to an upstream host
+     */
+    public static final class Upstream {
+
+        private final String host;
+
+        private final Semaphore bulkhead = new Semaphore(MAX_CONCURRENT_CALLS);
+
+        private final CircuitBreaker<Object> breaker;
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Upstream(String host) {
+            this.host = host;
+            this.breaker = new CircuitBreaker<>()
+                    .withFailureThreshold(BREAKER_FAILURES, BREAKER_EXECUTIONS)
+                    .withSuccessThreshold(2)
+                    .withDelay(Duration.ofMillis(BREAKER_DELAY_MILLIS))
+                    .onOpen(() -> log.log(Level.WARNING, "Circuit breaker opened for {0}", host))
+                    .onClose(() -> log.log(Level.INFO, "Circuit breaker closed for {0}", host));
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        /**
+         * @return CLOSED, OPEN or HALF_OPEN
+         */
+        public String getState() {
+            return breaker.getState().name();
+        }
+
+        public int getActiveCalls() {
+            return MAX_CONCURRENT_CALLS - bulkhead.availablePermits();
+        }
+
+        /**
+         * @return the number of calls rejected by the circuit breaker or the bulkhead
+         */
+        public long getRejected() {
+            return rejected.get();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.fabric8.launcher.base.http;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import okhttp3.Request;
+
+/**
+ * Coalesces identical in-flight requests: while a call is running, callers asking for the same key
+ * share its result instead of performing the call again.
+ * <p>
+ * Only the running calls are kept, results are never cached once the call completes.
+ */
+final class SingleFlight<V> {
+
+    private final ConcurrentMap<String, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    private final AtomicLong executed = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Returns the running call for the given key, or starts a new one
+     *
+     * @param key  the key identifying the call
+     * @param call completes the given future. Only invoked when no call for the key is running
+     * @return the future holding the result of the call
+     */
+    CompletableFuture<V> execute(String key, Consumer<CompletableFuture<V>> call) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> running = calls.putIfAbsent(key, future);
+        if (running != null) {
+            coalesced.incrementAndGet();
+            return running;
+        }
+        executed.incrementAndGet();
+        future.whenComplete((result, error) -> calls.remove(key, future));
+        try {
+            call.accept(future);
+        } catch (@SuppressWarnings("squid:S1181") final Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    long getExecuted() {
+        return executed.get();
+    }
+
+    long getCoalesced() {
+        return coalesced.get();
+    }
+
+    int getInFlight() {
+        return calls.size();
+    }
+
+    /**
+     * @return true if the given request is idempotent and can be shared with other callers
+     */
+    static boolean isCoalescable(Request request) {
+        return "GET".equals(request.method()) && request.body() == null;
+    }
+
+    /**
+     * @return a key identifying the request by URL and principal. Credentials are hashed, never kept as is
+     */
+    static String keyOf(Request request) {
+        String principal = Objects.toString(Authorizations.principalOf(request), "anonymous");
+        return principal + ' ' + request.header("Accept") + ' ' + request.url();
+    }
+}
@@ -0,0 +1,13 @@
+package io.fabric8.launcher.base.http;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a call is rejected because its upstream host is failing or saturated
+ */
+public class UpstreamUnavailableException extends IOException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package io.fabric8.launcher.base;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashesTest {
+
+    @Test
+    void should_hash_with_sha256() {
+        assertThat(Hashes.sha256Hex("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+    }
+}
@@ -0,0 +1,60 @@
+package io.fabric8.launcher.base;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class IdleCacheTest {
+
+    @Test
+    void should_reuse_values_in_use() {
+        IdleCache<String, Integer> cache = new IdleCache<>(60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(1);
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_evict_idle_values() throws InterruptedException {
+        IdleCache<String, Integer> cache = new IdleCache<>(10, 10);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", k -> loads.incrementAndGet());
+        Thread.sleep(50);
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void should_reload_values_older_than_max_age_even_if_used() throws InterruptedException {
+        IdleCache<String, Integer> cache = new IdleCache<>(60_000, 200, 10);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", k -> loads.incrementAndGet());
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(1);
+        Thread.sleep(250);
+        assertThat(cache.get("a", k -> loads.incrementAndGet())).isEqualTo(2);
+    }
+
+    @Test
+    void should_evict_least_recently_used() {
+        IdleCache<String, String> cache = new IdleCache<>(60_000, 2);
+        cache.get("a", k -> k);
+        cache.get("b", k -> k);
+        cache.get("a", k -> k);
+        cache.get("c", k -> k);
+        assertThat(cache.get("b", k -> "reloaded")).isEqualTo("reloaded");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void should_not_keep_failed_loads() {
+        IdleCache<String, String> cache = new IdleCache<>(60_000, 10);
+        assertThatIllegalStateException().isThrownBy(() -> cache.get("a", k -> {
+            throw new IllegalStateException("Failed");
+        }));
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -1,5 +1,6 @@
 package io.fabric8.launcher.base;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -64,4 +65,25 @@ class JsonUtilsTest {
         expected.put("name","George");
         assertThat(map).containsAllEntriesOf(expected);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testReadArray() throws IOException {
+        String json = "[{\"id\":1},{\"id\":2},{\"id\":3}]";
+        assertThat(JsonUtils.readArray(new ByteArrayInputStream(json.getBytes()), null, n -> n.get("id").asInt()))
+                .containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void testReadArrayFromField() throws IOException {
+        String json = "{\"ok\":true,\"other\":{\"data\":[0]},\"data\":[{\"id\":1},{\"id\":2}]}";
+        assertThat(JsonUtils.readArray(new ByteArrayInputStream(json.getBytes()), "data", n -> n.get("id").asInt()))
+                .containsExactly(1, 2);
+        assertThat(JsonUtils.readArray(new ByteArrayInputStream(json.getBytes()), "missing", n -> n))
+                .isEmpty();
+    }
+
+    @Test
+    void testReadTreeFromEmptyStream() throws IOException {
+        assertThat(JsonUtils.readTree(new ByteArrayInputStream(new byte[0]))).isNull();
+    }
+}
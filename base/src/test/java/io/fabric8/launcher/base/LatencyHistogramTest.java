@@ -0,0 +1,35 @@
+package io.fabric8.launcher.base;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void should_compute_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram(100);
+        for (int i = 100; i >= 1; i--) {
+            histogram.record(i);
+        }
+        assertThat(histogram.getPercentile(50)).isEqualTo(50);
+        assertThat(histogram.getPercentile(99)).isEqualTo(99);
+        assertThat(histogram.getPercentile(100)).isEqualTo(100);
+        assertThat(histogram.getSummary()).containsEntry("count", 100L).containsEntry("p90", 90L);
+    }
+
+    @Test
+    void should_only_keep_the_last_samples() {
+        LatencyHistogram histogram = new LatencyHistogram(2);
+        histogram.record(1000);
+        histogram.record(10);
+        histogram.record(20);
+        assertThat(histogram.getCount()).isEqualTo(3);
+        assertThat(histogram.getPercentile(100)).isEqualTo(20);
+    }
+
+    @Test
+    void should_return_zero_when_empty() {
+        assertThat(new LatencyHistogram(10).getPercentile(50)).isZero();
+    }
+}
@@ -1,14 +1,22 @@
 package io.fabric8.launcher.base;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -21,6 +29,18 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
  */
 class PathsTest {
 
+    @Test
+    void createTempDirectory() throws IOException {
+        Path directory = Paths.createTempDirectory("projectDir");
+        try {
+            assertThat(directory).isDirectory()
+                    .hasParent(Paths.tempDirectory());
+            assertThat(directory.getFileName().toString()).startsWith("projectDir");
+        } finally {
+            Paths.deleteDirectory(directory);
+        }
+    }
+
     @Test
     void deleteDirectory(@TempDir Path tempDirectory) throws IOException {
         Paths.deleteDirectory(tempDirectory);
@@ -65,6 +85,53 @@ class PathsTest {
         }).doesNotThrowAnyException();
     }
 
+    @Test
+    void parallel_zip_should_match_serial_zip(@TempDir Path tempDir) throws IOException {
+        Path fooDir = Files.createDirectories(tempDir.resolve("foo/bar"));
+        for (int i = 0; i < 50; i++) {
+            Files.write(fooDir.resolve("file" + i + ".txt"), ("test " + i).getBytes());
+        }
+        ByteArrayOutputStream serial = new ByteArrayOutputStream();
+        ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+        Paths.zip("foo", tempDir, serial, false);
+        Paths.zip("foo", tempDir, parallel, true);
+        assertThat(entryNames(parallel.toByteArray())).containsExactlyElementsOf(entryNames(serial.toByteArray()));
+
+        Path target = tempDir.resolve("unzipped");
+        Paths.unzip(new ByteArrayInputStream(parallel.toByteArray()), target);
+        assertThat(target.resolve("foo/foo/bar/file42.txt")).hasContent("test 42");
+    }
+
+    @Test
+    void zip_should_store_precompressed_entries(@TempDir Path tempDir) throws IOException {
+        Path fooDir = Files.createDirectory(tempDir.resolve("foo"));
+        Files.write(fooDir.resolve("foo.jar"), "not really a jar".getBytes());
+        Files.write(fooDir.resolve("foo.txt"), "test test test test test test test test".getBytes());
+        byte[] zip = Paths.zip("foo", fooDir);
+        try (ZipArchiveInputStream zis = new ZipArchiveInputStream(new ByteArrayInputStream(zip))) {
+            ZipArchiveEntry entry;
+            while ((entry = zis.getNextZipEntry()) != null) {
+                if (entry.getName().endsWith(".jar")) {
+                    assertThat(entry.getMethod()).isEqualTo(ZipArchiveEntry.STORED);
+                } else if (entry.getName().endsWith(".txt")) {
+                    assertThat(entry.getMethod()).isEqualTo(ZipArchiveEntry.DEFLATED);
+                }
+            }
+        }
+    }
+
+    @Test
+    void unzip_should_enforce_limits(@TempDir Path tempDir) throws IOException {
+        Path fooDir = Files.createDirectory(tempDir.resolve("foo"));
+        Files.write(fooDir.resolve("foo.txt"), new byte[1024]);
+        Files.write(fooDir.resolve("bar.txt"), new byte[1024]);
+        byte[] zip = Paths.zip("foo", fooDir);
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> Paths.unzip(new ByteArrayInputStream(zip), tempDir.resolve("entries"), 2, Long.MAX_VALUE));
+        assertThatExceptionOfType(IOException.class)
+                .isThrownBy(() -> Paths.unzip(new ByteArrayInputStream(zip), tempDir.resolve("size"), Integer.MAX_VALUE, 1500));
+    }
+
     @Test
     void should_join_paths() {
         assertThat(Paths.join("a", "b")).isEqualTo("a/b");
@@ -87,4 +154,35 @@ class PathsTest {
         Paths.unzip(new ByteArrayInputStream(zip), tempDir);
         assertThat(Files.getPosixFilePermissions(file)).hasSameElementsAs(permissions);
     }
+
+    @Test
+    void zip_should_stream_big_files(@TempDir Path tempDir) throws IOException {
+        Path fooDir = Files.createDirectory(tempDir.resolve("foo"));
+        byte[] text = new byte[5 * 1024 * 1024];
+        Arrays.fill(text, (byte) 'a');
+        byte[] binary = new byte[5 * 1024 * 1024];
+        new Random(42).nextBytes(binary);
+        Files.write(fooDir.resolve("big.txt"), text);
+        Files.write(fooDir.resolve("big.jar"), binary);
+
+        for (boolean parallel : new boolean[]{false, true}) {
+            ByteArrayOutputStream zip = new ByteArrayOutputStream();
+            Paths.zip("foo", fooDir, zip, parallel);
+            Path target = Files.createDirectory(tempDir.resolve("unzipped-" + parallel));
+            Paths.unzip(new ByteArrayInputStream(zip.toByteArray()), target);
+            assertThat(Files.readAllBytes(target.resolve("foo/big.txt"))).isEqualTo(text);
+            assertThat(Files.readAllBytes(target.resolve("foo/big.jar"))).isEqualTo(binary);
+        }
+    }
+
+    private static List<String> entryNames(byte[] zip) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipArchiveInputStream zis = new ZipArchiveInputStream(new ByteArrayInputStream(zip))) {
+            ArchiveEntry entry;
+            while ((entry = zis.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
 }
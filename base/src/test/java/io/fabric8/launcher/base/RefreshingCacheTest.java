@@ -0,0 +1,70 @@
+package io.fabric8.launcher.base;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshingCacheTest {
+
+    @Test
+    void should_load_once_while_fresh() {
+        RefreshingCache<String, Integer> cache = new RefreshingCache<>(60_000, 60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(loads.incrementAndGet()))).isCompletedWithValue(1);
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(loads.incrementAndGet()))).isCompletedWithValue(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void should_serve_stale_value_while_refreshing() {
+        RefreshingCache<String, Integer> cache = new RefreshingCache<>(0, 60_000, 10);
+        AtomicInteger loads = new AtomicInteger();
+        CompletableFuture<Integer> refresh = new CompletableFuture<>();
+        cache.get("a", k -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+        sleep();
+        assertThat(cache.get("a", k -> refresh)).isCompletedWithValue(1);
+        refresh.complete(2);
+        sleep();
+        assertThat(cache.get("a", k -> new CompletableFuture<>())).isCompletedWithValue(2);
+        assertThat(cache.getStaleHits()).isEqualTo(2);
+    }
+
+    @Test
+    void should_refresh_on_the_executor() {
+        List<Runnable> refreshes = new ArrayList<>();
+        RefreshingCache<String, Integer> cache = new RefreshingCache<>(0, 60_000, 10, refreshes::add);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("a", k -> CompletableFuture.completedFuture(loads.incrementAndGet()));
+        sleep();
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(loads.incrementAndGet()))).isCompletedWithValue(1);
+        assertThat(loads).hasValue(1);
+        assertThat(refreshes).hasSize(1);
+        refreshes.get(0).run();
+        assertThat(loads).hasValue(2);
+        sleep();
+        assertThat(cache.get("a", k -> new CompletableFuture<>())).isCompletedWithValue(2);
+    }
+
+    @Test
+    void should_not_keep_failed_loads() {
+        RefreshingCache<String, Integer> cache = new RefreshingCache<>(60_000, 60_000, 10);
+        CompletableFuture<Integer> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("failed"));
+        assertThat(cache.get("a", k -> failed)).isCompletedExceptionally();
+        assertThat(cache.get("a", k -> CompletableFuture.completedFuture(1))).isCompletedWithValue(1);
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(5);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package io.fabric8.launcher.base.http;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestCacheTest {
+
+    private final List<String> conditionalHeaders = new ArrayList<>();
+
+    /**
+     * Answers with the Sudo user as the body, and a 304 when the ETag sent matches
+     */
+    private final OkHttpClient client = new OkHttpClient.Builder()
+            .addInterceptor(new ConditionalRequestCache())
+            .addInterceptor(chain -> {
+                Request request = chain.request();
+                String user = request.header("Sudo");
+                String etag = "\"" + user + "\"";
+                conditionalHeaders.add(request.header("If-None-Match"));
+                Response.Builder response = new Response.Builder()
+                        .request(request)
+                        .protocol(Protocol.HTTP_1_1)
+                        .header("ETag", etag);
+                if (etag.equals(request.header("If-None-Match"))) {
+                    return response.code(304).message("Not Modified").body(ResponseBody.create(null, "")).build();
+                }
+                return response.code(200).message("OK")
+                        .body(ResponseBody.create(MediaType.parse("text/plain"), user)).build();
+            })
+            .build();
+
+    @Test
+    void should_not_share_responses_between_sudo_users() throws IOException {
+        assertThat(get("alice")).isEqualTo("alice");
+        assertThat(get("bob")).isEqualTo("bob");
+        assertThat(get("alice")).isEqualTo("alice");
+
+        assertThat(conditionalHeaders).containsExactly(null, null, "\"alice\"");
+    }
+
+    private String get(String user) throws IOException {
+        Request request = new Request.Builder().url("https://gitea.example.com/api/v1/user")
+                .header("Authorization", "token admin")
+                .header("Sudo", user)
+                .build();
+        try (Response response = client.newCall(request).execute()) {
+            return response.body().string();
+        }
+    }
+}
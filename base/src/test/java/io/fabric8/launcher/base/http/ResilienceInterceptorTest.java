@@ -0,0 +1,46 @@
+package io.fabric8.launcher.base.http;
+
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResilienceInterceptorTest {
+
+    private static final String HOST = "bulkhead.example.com";
+
+    @Test
+    void should_hold_the_bulkhead_permit_until_the_body_is_closed() throws IOException {
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(ResilienceInterceptor.getInstance())
+                .addInterceptor(chain -> new Response.Builder()
+                        .request(chain.request())
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(200)
+                        .message("OK")
+                        .body(ResponseBody.create(null, "body"))
+                        .build())
+                .build();
+        Request request = new Request.Builder().url("https://" + HOST + "/").build();
+
+        Response response = client.newCall(request).execute();
+        assertThat(activeCalls()).isEqualTo(1);
+        assertThat(response.body().string()).isEqualTo("body");
+        assertThat(activeCalls()).isZero();
+        response.close();
+        assertThat(activeCalls()).isZero();
+    }
+
+    private static int activeCalls() {
+        return ResilienceInterceptor.getInstance().getUpstreams().stream()
+                .filter(upstream -> HOST.equals(upstream.getHost()))
+                .mapToInt(ResilienceInterceptor.Upstream::getActiveCalls)
+                .sum();
+    }
+}
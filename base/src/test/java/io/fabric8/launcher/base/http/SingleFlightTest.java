@@ -0,0 +1,65 @@
+package io.fabric8.launcher.base.http;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import okhttp3.Request;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    @Test
+    void should_coalesce_calls_while_in_flight() {
+        SingleFlight<String> singleFlight = new SingleFlight<>();
+        AtomicReference<CompletableFuture<String>> leader = new AtomicReference<>();
+        CompletableFuture<String> first = singleFlight.execute("key", leader::set);
+        CompletableFuture<String> second = singleFlight.execute("key", f -> f.complete("should not run"));
+        assertThat(second).isSameAs(first);
+        assertThat(singleFlight.getCoalesced()).isEqualTo(1);
+        assertThat(singleFlight.getInFlight()).isEqualTo(1);
+
+        leader.get().complete("result");
+        assertThat(second).isCompletedWithValue("result");
+        assertThat(singleFlight.getInFlight()).isZero();
+
+        CompletableFuture<String> third = singleFlight.execute("key", f -> f.complete("again"));
+        assertThat(third).isCompletedWithValue("again");
+        assertThat(singleFlight.getExecuted()).isEqualTo(2);
+    }
+
+    @Test
+    void should_partition_keys_by_principal() {
+        Request alice = new Request.Builder().url("https://api.github.com/user").header("Authorization", "token alice").build();
+        Request bob = new Request.Builder().url("https://api.github.com/user").header("Authorization", "token bob").build();
+        assertThat(SingleFlight.keyOf(alice))
+                .isNotEqualTo(SingleFlight.keyOf(bob))
+                .doesNotContain("alice");
+    }
+
+    @Test
+    void should_partition_keys_by_sudo_user() {
+        Request alice = new Request.Builder().url("https://gitea.example.com/api/v1/user")
+                .header("Authorization", "token admin").header("Sudo", "alice").build();
+        Request bob = alice.newBuilder().header("Sudo", "bob").build();
+        assertThat(SingleFlight.keyOf(alice))
+                .isNotEqualTo(SingleFlight.keyOf(bob))
+                .doesNotContain("alice");
+    }
+
+    @Test
+    void should_partition_keys_by_private_token() {
+        Request alice = new Request.Builder().url("https://gitlab.com/api/v4/user").header("Private-Token", "alice").build();
+        Request bob = alice.newBuilder().header("Private-Token", "bob").build();
+        assertThat(SingleFlight.keyOf(alice)).isNotEqualTo(SingleFlight.keyOf(bob));
+    }
+
+    @Test
+    void should_only_coalesce_get_requests() {
+        Request post = new Request.Builder().url("https://api.github.com/user")
+                .post(okhttp3.RequestBody.create(null, "{}")).build();
+        assertThat(SingleFlight.isCoalescable(post)).isFalse();
+        assertThat(SingleFlight.isCoalescable(post.newBuilder().get().build())).isTrue();
+    }
+}
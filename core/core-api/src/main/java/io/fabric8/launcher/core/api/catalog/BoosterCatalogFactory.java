@@ -7,6 +7,8 @@
 
 package io.fabric8.launcher.core.api.catalog;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
 import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalog;
@@ -24,12 +26,34 @@ public interface BoosterCatalogFactory {
     RhoarBoosterCatalog getBoosterCatalog();
 
     /**
-     * Waits until the index operation is finished (Used in integration tests)
+     * Never waits for an index: the current catalog is served while a reindex is pending
+     *
+     * @return the lookup tables of the catalog in use
+     * @throws javax.ws.rs.ServiceUnavailableException if the first catalog is still being indexed
+     * @throws IllegalStateException                   if the catalog could not be indexed
+     */
+    BoosterCatalogIndex getCatalogIndex();
+
+    /**
+     * Indexes the catalog again in the background. The current catalog keeps being returned by
+     * {@link #getBoosterCatalog()} until the new one is fully indexed and swapped in.
+     *
+     * @return the outcome of the reindex, completed once the new catalog is in use
+     */
+    CompletableFuture<BoosterCatalogReindex> reindex();
+
+    /**
+     * Waits until the index operation is finished, including a pending reindex (Used in integration tests)
      */
     void waitForIndex() throws InterruptedException, ExecutionException;
 
     /**
-     * Returns true if the index operation is not finished yet
+     * Returns true if the index or a reindex operation is not finished yet
      */
     boolean isIndexing();
+
+    /**
+     * @return the outcome of the last successful reindex
+     */
+    Optional<BoosterCatalogReindex> getLastReindex();
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package io.fabric8.launcher.core.api.catalog;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+import io.fabric8.launcher.booster.catalog.rhoar.Mission;
+import io.fabric8.launcher.booster.catalog.rhoar.RhoarBooster;
+import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalog;
+import io.fabric8.launcher.booster.catalog.rhoar.Runtime;
+import io.fabric8.launcher.booster.catalog.rhoar.Version;
+
+import static io.fabric8.launcher.booster.catalog.rhoar.BoosterPredicates.withRuntime;
+
+/**
+ * Immutable lookup tables over an indexed {@link RhoarBoosterCatalog}, built once per catalog index
+ */
+public final class BoosterCatalogIndex {
+
+    private final RhoarBoosterCatalog catalog;
+
+    private final Map<String, Mission> missions;
+
+    private final Map<String, Runtime> runtimes;
+
+    private final Map<String, List<Version>> versionsByRuntime;
+
+    private final Map<String, RhoarBooster> boosters;
+
+    private BoosterCatalogIndex(RhoarBoosterCatalog catalog, Collection<RhoarBooster> indexedBoosters) {
+        this.catalog = catalog;
+        Map<String, Mission> missionMap = new HashMap<>();
+        for (Mission mission : catalog.getMissions()) {
+            missionMap.putIfAbsent(mission.getId(), mission);
+        }
+        Map<String, Runtime> runtimeMap = new HashMap<>();
+        Map<String, List<Version>> versionMap = new HashMap<>();
+        for (Runtime runtime : catalog.getRuntimes()) {
+            runtimeMap.putIfAbsent(runtime.getId(), runtime);
+            versionMap.put(runtime.getId(), Collections.unmodifiableList(new ArrayList<>(catalog.getVersions(withRuntime(runtime)))));
+        }
+        Map<String, RhoarBooster> boosterMap = new HashMap<>();
+        for (RhoarBooster booster : indexedBoosters) {
+            if (booster.getMission() != null && booster.getRuntime() != null && booster.getVersion() != null) {
+                boosterMap.putIfAbsent(keyOf(booster.getMission(), booster.getRuntime(), booster.getVersion()), booster);
+            }
+        }
+        this.missions = Collections.unmodifiableMap(missionMap);
+        this.runtimes = Collections.unmodifiableMap(runtimeMap);
+        this.versionsByRuntime = Collections.unmodifiableMap(versionMap);
+        this.boosters = Collections.unmodifiableMap(boosterMap);
+    }
+
+    /**
+     * @param catalog         an indexed catalog
+     * @param indexedBoosters the boosters returned by its index
+     */
+    public static BoosterCatalogIndex of(RhoarBoosterCatalog catalog, Collection<RhoarBooster> indexedBoosters) {
+        return new BoosterCatalogIndex(catalog, indexedBoosters);
+    }
+
+    /**
+     * @return the catalog this index was built from
+     */
+    public RhoarBoosterCatalog getCatalog() {
+        return catalog;
+    }
+
+    public Optional<Mission> getMission(String id) {
+        return Optional.ofNullable(missions.get(id));
+    }
+
+    public Optional<Runtime> getRuntime(String id) {
+        return Optional.ofNullable(runtimes.get(id));
+    }
+
+    /**
+     * @return the versions available for the given runtime, in catalog order
+     */
+    public List<Version> getVersions(Runtime runtime) {
+        return versionsByRuntime.getOrDefault(runtime.getId(), Collections.emptyList());
+    }
+
+    /**
+     * @param version the version or null for any version, as in {@link RhoarBoosterCatalog#getBooster(Mission, Runtime, Version)}
+     */
+    public Optional<RhoarBooster> getBooster(Mission mission, Runtime runtime, @Nullable Version version) {
+        if (version == null) {
+            return catalog.getBooster(mission, runtime, null);
+        }
+        return Optional.ofNullable(boosters.get(keyOf(mission, runtime, version)));
+    }
+
+    private static String keyOf(Mission mission, Runtime runtime, Version version) {
+        return mission.getId() + '\n' + runtime.getId() + '\n' + version.getId();
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package io.fabric8.launcher.core.api.catalog;
+
+import javax.annotation.Nullable;
+
+import org.immutables.value.Value;
+
+/**
+ * The outcome of a {@link BoosterCatalogFactory#reindex()} call
+ */
+@Value.Immutable
+public interface BoosterCatalogReindex {
+
+    /**
+     * @return the catalog ref that was indexed
+     */
+    String getRef();
+
+    /**
+     * @return the commit the ref pointed to, if it could be resolved
+     */
+    @Nullable
+    String getCommit();
+
+    /**
+     * @return true if the ref still pointed to the indexed commit and the current catalog was kept
+     */
+    boolean isUnchanged();
+
+    long getDurationMillis();
+
+    int getAdded();
+
+    int getRemoved();
+
+    int getUpdated();
+}
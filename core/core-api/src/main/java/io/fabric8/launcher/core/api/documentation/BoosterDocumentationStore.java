@@ -1,6 +1,7 @@
 package io.fabric8.launcher.core.api.documentation;
 
 import java.nio.file.Path;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 
@@ -26,4 +27,12 @@ public interface BoosterDocumentationStore {
      * Wait until the current documentation store is loaded
      */
     void waitForDocumentation() throws ExecutionException, InterruptedException;
+
+    /**
+     * @return the commit the loaded documentation was checked out from, if the documentation is loaded and the
+     * commit is known
+     */
+    default Optional<String> getDocumentationCommit() {
+        return Optional.empty();
+    }
 }
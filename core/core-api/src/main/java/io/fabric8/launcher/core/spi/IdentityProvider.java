@@ -44,6 +44,17 @@ public interface IdentityProvider {
      */
     Optional<Identity> getIdentity(Identity authorization, String service);
 
+    /**
+     * Discards any identity kept for the given authorization, eg. because the provider reported it as revoked.
+     * <p>
+     * The default implementation does nothing
+     *
+     * @param authorization the {@link Identity} used in the Authorization header
+     */
+    default void invalidate(Identity authorization) {
+        // Nothing is kept by default
+    }
+
     interface ServiceType {
         String OPENSHIFT = "openshift-v4";
     }
@@ -12,5 +12,6 @@ public enum CoreEnvironment implements EnvironmentEnum {
     LAUNCHER_KEYCLOAK_REALM,
     HOSTNAME,
     LAUNCHER_FILTER_RUNTIME,
-    LAUNCHER_FILTER_VERSION
+    LAUNCHER_FILTER_VERSION,
+    LAUNCHER_BOOSTER_CATALOG_SNAPSHOT_DIR
 }
@@ -7,27 +7,35 @@ import io.fabric8.launcher.core.api.Boom;
 import io.fabric8.launcher.core.api.DefaultMissionControl;
 import io.fabric8.launcher.core.api.ImmutableBoom;
 import io.fabric8.launcher.core.api.MissionControl;
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogIndex;
+import io.fabric8.launcher.core.api.events.LauncherStatusEventKind;
 import io.fabric8.launcher.core.api.projectiles.CreateProjectile;
 import io.fabric8.launcher.core.api.projectiles.ImmutableLauncherCreateProjectile;
 import io.fabric8.launcher.core.api.projectiles.context.CreateProjectileContext;
 import io.fabric8.launcher.core.api.projectiles.context.LauncherProjectileContext;
 import io.fabric8.launcher.core.impl.catalog.RhoarBoosterCatalogFactory;
+import io.fabric8.launcher.core.impl.events.OrderedStatusEventConsumer;
 import io.fabric8.launcher.core.impl.steps.GitSteps;
 import io.fabric8.launcher.core.impl.steps.OpenShiftSteps;
+import io.fabric8.launcher.core.impl.steps.StepGraph;
+import io.fabric8.launcher.core.impl.steps.StepGraph.Step;
 import io.fabric8.launcher.core.spi.ProjectileEnricher;
 import io.fabric8.launcher.core.spi.ProjectilePreparer;
 import io.fabric8.launcher.service.git.api.GitRepository;
 import io.fabric8.launcher.service.openshift.api.OpenShiftProject;
+import org.eclipse.microprofile.context.ManagedExecutor;
 
 import javax.enterprise.context.Dependent;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import java.net.URL;
-import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static io.fabric8.launcher.base.Paths.createTempDirectory;
+
 /**
  * Implementation of the {@link MissionControl} interface.
  *
@@ -56,16 +64,22 @@ public class MissionControlImpl implements DefaultMissionControl {
     @Inject
     RhoarBoosterCatalogFactory catalogFactory;
 
+    /**
+     * Propagates the request context, so the steps can use the request-scoped services
+     */
+    @Inject
+    ManagedExecutor executor;
+
 
     @Override
     public CreateProjectile prepare(CreateProjectileContext context) {
         java.nio.file.Path path;
         try {
-            path = Files.createTempDirectory("projectDir");
-            // Wait for index to finish before querying the catalog
-            catalogFactory.waitForIndex();
-            RhoarBoosterCatalog catalog = catalogFactory.getBoosterCatalog();
-            RhoarBooster booster = catalog.getBooster(context.getMission(), context.getRuntime(), context.getRuntimeVersion())
+            path = createTempDirectory("projectDir");
+            // Fails with a 503 while the catalog is first indexed
+            BoosterCatalogIndex index = catalogFactory.getCatalogIndex();
+            RhoarBoosterCatalog catalog = index.getCatalog();
+            RhoarBooster booster = index.getBooster(context.getMission(), context.getRuntime(), context.getRuntimeVersion())
                     .orElseThrow(() -> new IllegalArgumentException(String.format("Booster not found in catalog: %s-%s-%s ", context.getMission(), context.getRuntime(), context.getRuntimeVersion())));
 
             catalog.copy(booster, path);
@@ -89,6 +103,16 @@ public class MissionControlImpl implements DefaultMissionControl {
         }
     }
 
+    /**
+     * Runs the launch steps as a dependency graph:
+     * <ul>
+     * <li>the OpenShift project is created once the Git repository is, so a failure creating the repository
+     * (eg. it already exists) does not leave a project behind, and while the code is pushed</li>
+     * <li>the build pipeline is configured once both are done, since the templates may start a build right away</li>
+     * <li>the webhooks are created once the pipeline exists</li>
+     * </ul>
+     * The status events are still fired in the {@link LauncherStatusEventKind} order.
+     */
     @Override
     public Boom launch(CreateProjectile projectile) {
         GitSteps gitSteps = gitStepsInstance.get();
@@ -97,25 +121,54 @@ public class MissionControlImpl implements DefaultMissionControl {
         try {
             enrichers.forEach(enricher -> enricher.accept(projectile));
 
-            GitRepository gitRepository = null;
             // If the git repository name was not provided, do not create/push to git repository
-            if (projectile.getGitRepositoryName() != null) {
-                gitRepository = gitSteps.createGitRepository(projectile);
-                gitSteps.pushToGitRepository(projectile, gitRepository);
-            }
-
-            OpenShiftProject openShiftProject = openShiftSteps.createOpenShiftProject(projectile);
-            openShiftSteps.configureBuildPipeline(projectile, openShiftProject, gitRepository);
+            final boolean createGitRepository = projectile.getGitRepositoryName() != null;
+            List<LauncherStatusEventKind> events = createGitRepository ?
+                    Arrays.asList(LauncherStatusEventKind.values()) :
+                    Arrays.asList(LauncherStatusEventKind.OPENSHIFT_CREATE, LauncherStatusEventKind.OPENSHIFT_PIPELINE);
+            OrderedStatusEventConsumer orderedEvents = new OrderedStatusEventConsumer(events, projectile.getEventConsumer());
+            CreateProjectile orderedProjectile = ImmutableLauncherCreateProjectile.builder()
+                    .from(projectile)
+                    .eventConsumer(orderedEvents)
+                    .build();
 
-            if (gitRepository != null) {
-                List<URL> webhooks = openShiftSteps.getWebhooks(openShiftProject);
-                gitSteps.createWebHooks(projectile, gitRepository, webhooks);
+            StepGraph graph = new StepGraph(executor);
+            Step<GitRepository> gitRepository = graph.step("git-create", () -> createGitRepository ?
+                    gitSteps.createGitRepository(orderedProjectile) : null);
+            Step<GitRepository> gitPush = graph.step("git-push", () -> {
+                if (gitRepository.get() != null) {
+                    gitSteps.pushToGitRepository(orderedProjectile, gitRepository.get());
+                }
+                return gitRepository.get();
+            }, gitRepository);
+            Step<OpenShiftProject> openShiftProject = graph.step("openshift-create", () -> openShiftSteps.createOpenShiftProject(orderedProjectile),
+                                                                 gitRepository);
+            Step<OpenShiftProject> pipeline = graph.step("openshift-pipeline", () -> {
+                openShiftSteps.configureBuildPipeline(orderedProjectile, openShiftProject.get(), gitPush.get());
+                return openShiftProject.get();
+            }, openShiftProject, gitPush);
+            graph.step("git-webhooks", () -> {
+                if (gitPush.get() != null) {
+                    List<URL> webhooks = openShiftSteps.getWebhooks(pipeline.get());
+                    gitSteps.createWebHooks(orderedProjectile, gitPush.get(), webhooks);
+                }
+                return null;
+            }, pipeline, gitPush);
+            try {
+                graph.await();
+            } catch (RuntimeException e) {
+                // Report the steps that completed before the caller fires the error
+                orderedEvents.flush();
+                throw e;
+            } finally {
+                logger.log(Level.INFO, "Launch {0} critical path took {1} ms, steps: {2}",
+                           new Object[]{projectile.getId(), graph.getCriticalPathMillis(), graph.getDurations()});
             }
 
             return ImmutableBoom
                     .builder()
-                    .createdProject(openShiftProject)
-                    .createdRepository(gitRepository)
+                    .createdProject(openShiftProject.get())
+                    .createdRepository(gitRepository.get())
                     .build();
         } finally {
             gitStepsInstance.destroy(gitSteps);
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package io.fabric8.launcher.core.impl.catalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.transport.RefSpec;
+
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
+import static io.fabric8.launcher.base.Paths.deleteDirectory;
+
+/**
+ * A local mirror of the booster catalog repository, kept on disk so a new instance can index the catalog
+ * without cloning it over the network first.
+ * <p>
+ * Each snapshot is a bare repository keyed by the catalog URL and the resolved ref.
+ */
+class BoosterCatalogSnapshot {
+
+    private static final Logger log = Logger.getLogger(BoosterCatalogSnapshot.class.getName());
+
+    private final Path directory;
+
+    BoosterCatalogSnapshot(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @return the URI to index the catalog from, or null if there is no snapshot for the given ref
+     */
+    String uriOf(String catalogUrl, String ref) {
+        return commitOf(catalogUrl, ref) == null ? null : snapshotPath(catalogUrl, ref).toUri().toString();
+    }
+
+    /**
+     * @return the commit the given ref points to in the snapshot, or null if there is no snapshot for it
+     */
+    String commitOf(String catalogUrl, String ref) {
+        Path path = snapshotPath(catalogUrl, ref);
+        if (!Files.isDirectory(path)) {
+            return null;
+        }
+        try (Git git = Git.open(path.toFile())) {
+            return resolve(git.getRepository(), ref);
+        } catch (IOException e) {
+            log.log(Level.FINE, "Ignoring invalid snapshot in " + path, e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates or refreshes the snapshot for the given ref. A snapshot being created is only visible once complete.
+     *
+     * @return the commit the ref points to in the snapshot
+     */
+    String update(String catalogUrl, String ref) {
+        Path path = snapshotPath(catalogUrl, ref);
+        try {
+            if (Files.isDirectory(path)) {
+                try (Git git = Git.open(path.toFile())) {
+                    fetch(git, catalogUrl);
+                    return resolve(git.getRepository(), ref);
+                }
+            }
+            Files.createDirectories(directory);
+            Path tmp = Files.createTempDirectory(directory, "snapshot");
+            try {
+                String commit;
+                try (Git git = Git.init().setBare(true).setDirectory(tmp.toFile()).call()) {
+                    fetch(git, catalogUrl);
+                    commit = resolve(git.getRepository(), ref);
+                }
+                try {
+                    Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException | DirectoryNotEmptyException e) {
+                    // Created meanwhile by another instance sharing the directory
+                    return commitOf(catalogUrl, ref);
+                }
+                log.info(() -> "Created booster catalog snapshot of " + catalogUrl + " (" + ref + ") in " + path);
+                return commit;
+            } finally {
+                if (Files.exists(tmp)) {
+                    deleteDirectory(tmp);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while updating snapshot in " + path, e);
+        } catch (GitAPIException e) {
+            throw new IllegalStateException("Error while updating snapshot in " + path, e);
+        }
+    }
+
+    private Path snapshotPath(String catalogUrl, String ref) {
+        return directory.resolve(sha256Hex(catalogUrl + '\n' + ref));
+    }
+
+    private static void fetch(Git git, String catalogUrl) throws GitAPIException {
+        git.fetch()
+                .setRemote(catalogUrl)
+                .setRefSpecs(new RefSpec("+refs/heads/*:refs/heads/*"), new RefSpec("+refs/tags/*:refs/tags/*"))
+                .setRemoveDeletedRefs(true)
+                .call();
+    }
+
+    private static String resolve(Repository repository, String ref) throws IOException {
+        Ref found = repository.exactRef(Constants.R_HEADS + ref);
+        if (found == null) {
+            found = repository.exactRef(Constants.R_TAGS + ref);
+        }
+        if (found == null) {
+            return ObjectId.isId(ref) && repository.hasObject(ObjectId.fromString(ref)) ? ref : null;
+        }
+        ObjectId id = repository.peel(found).getPeeledObjectId();
+        return (id != null ? id : found.getObjectId()).getName();
+    }
+}
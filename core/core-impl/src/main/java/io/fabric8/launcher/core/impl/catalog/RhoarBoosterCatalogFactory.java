@@ -7,11 +7,23 @@
 
 package io.fabric8.launcher.core.impl.catalog;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.annotation.PostConstruct;
@@ -20,6 +32,7 @@ import javax.enterprise.context.Dependent;
 import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Produces;
 import javax.inject.Inject;
+import javax.ws.rs.ServiceUnavailableException;
 
 import io.fabric8.launcher.base.Paths;
 import io.fabric8.launcher.base.http.HttpClient;
@@ -27,8 +40,16 @@ import io.fabric8.launcher.booster.catalog.rhoar.RhoarBooster;
 import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalog;
 import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalogService;
 import io.fabric8.launcher.core.api.catalog.BoosterCatalogFactory;
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogIndex;
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogReindex;
+import io.fabric8.launcher.core.api.catalog.ImmutableBoosterCatalogReindex;
 import io.quarkus.runtime.StartupEvent;
 import okhttp3.Request;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Ref;
 import org.eclipse.microprofile.context.ManagedExecutor;
 
 import static io.fabric8.launcher.booster.catalog.LauncherConfiguration.boosterCatalogRepositoryRef;
@@ -37,6 +58,7 @@ import static io.fabric8.launcher.booster.catalog.rhoar.BoosterPredicates.withRu
 import static io.fabric8.launcher.booster.catalog.rhoar.BoosterPredicates.withScriptFilter;
 import static io.fabric8.launcher.booster.catalog.rhoar.BoosterPredicates.withVersionMatches;
 import static io.fabric8.launcher.core.impl.CoreEnvironment.LAUNCHER_BOOSTER_CATALOG_FILTER;
+import static io.fabric8.launcher.core.impl.CoreEnvironment.LAUNCHER_BOOSTER_CATALOG_SNAPSHOT_DIR;
 import static io.fabric8.launcher.core.impl.CoreEnvironment.LAUNCHER_FILTER_RUNTIME;
 import static io.fabric8.launcher.core.impl.CoreEnvironment.LAUNCHER_FILTER_VERSION;
 import static io.fabric8.launcher.core.impl.CoreEnvironment.LAUNCHER_PREFETCH_BOOSTERS;
@@ -49,18 +71,50 @@ import static org.apache.commons.lang3.StringUtils.isNotBlank;
 @ApplicationScoped
 public class RhoarBoosterCatalogFactory implements BoosterCatalogFactory {
 
-    private final AtomicReference<RhoarBoosterCatalogService> defaultBoosterCatalog = new AtomicReference<>();
+    /**
+     * The catalog in use along with its lookup tables, published together so readers never see one without the other.
+     * Created lazily under {@link #initLock}, replaced by reindexes
+     */
+    private volatile IndexedCatalog current;
+
+    private final Object initLock = new Object();
 
     private static final Logger log = Logger.getLogger(RhoarBoosterCatalogFactory.class.getName());
 
+    /**
+     * Sent along with a 503 while the first catalog is being indexed
+     */
+    private static final long INDEXING_RETRY_AFTER_SECONDS = 5;
+
     private final ManagedExecutor async;
 
     private final HttpClient httpClient;
 
+    /**
+     * The commit the current catalog was indexed from, null if unknown (eg. the ref moved while it was cloned)
+     */
+    private volatile String indexedCommit;
+
+    private volatile BoosterCatalogReindex lastReindex;
+
+    private CompletableFuture<BoosterCatalogReindex> pendingReindex;
+
+    /**
+     * Notified whenever a reindex swaps in a different catalog
+     */
+    private final List<Consumer<BoosterCatalogReindex>> reindexListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Only set if {@code LAUNCHER_BOOSTER_CATALOG_SNAPSHOT_DIR} is
+     */
+    private final BoosterCatalogSnapshot snapshot;
+
     @Inject
     public RhoarBoosterCatalogFactory(ManagedExecutor async, HttpClient httpClient) {
         this.async = async;
         this.httpClient = httpClient;
+        String snapshotDir = LAUNCHER_BOOSTER_CATALOG_SNAPSHOT_DIR.value();
+        this.snapshot = isNotBlank(snapshotDir) ? new BoosterCatalogSnapshot(java.nio.file.Paths.get(snapshotDir)) : null;
     }
 
     /**
@@ -74,6 +128,7 @@ public class RhoarBoosterCatalogFactory implements BoosterCatalogFactory {
     RhoarBoosterCatalogFactory() {
         this.async = null;
         this.httpClient = null;
+        this.snapshot = null;
     }
 
     // Initialize on startup
@@ -84,49 +139,307 @@ public class RhoarBoosterCatalogFactory implements BoosterCatalogFactory {
     @PostConstruct
     @Override
     public void reset() {
-        defaultBoosterCatalog.set(null);
-        getBoosterCatalog();
+        synchronized (initLock) {
+            current = null;
+            indexedCommit = null;
+            current();
+        }
+    }
+
+    @Override
+    public synchronized CompletableFuture<BoosterCatalogReindex> reindex() {
+        if (pendingReindex == null || pendingReindex.isDone()) {
+            pendingReindex = CompletableFuture.supplyAsync(this::reindexAndSwap, async).thenCompose(Function.identity());
+        }
+        return pendingReindex;
+    }
+
+    /**
+     * Registers a listener called whenever a reindex swaps in a different catalog, whatever triggered it
+     * (the reindex endpoint, or the background reindex after starting from a snapshot)
+     */
+    public void addReindexListener(Consumer<BoosterCatalogReindex> listener) {
+        reindexListeners.add(listener);
+    }
+
+    /**
+     * @return the commit the current catalog was indexed from, if known for sure
+     */
+    public Optional<String> getIndexedCommit() {
+        return Optional.ofNullable(indexedCommit);
+    }
+
+    /**
+     * @return the outcome of the last successful reindex
+     */
+    @Override
+    public Optional<BoosterCatalogReindex> getLastReindex() {
+        return Optional.ofNullable(lastReindex);
     }
 
     @Produces
     @Dependent
     @Override
     public RhoarBoosterCatalog getBoosterCatalog() {
-        return defaultBoosterCatalog.updateAndGet(this::createBoosterCatalog);
+        return current().service;
+    }
+
+    @Override
+    public BoosterCatalogIndex getCatalogIndex() {
+        CompletableFuture<BoosterCatalogIndex> index = current().index;
+        if (index == null || !index.isDone()) {
+            throw new ServiceUnavailableException("The booster catalog is being indexed", INDEXING_RETRY_AFTER_SECONDS);
+        }
+        try {
+            return index.join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Error while indexing the booster catalog", e.getCause());
+        }
+    }
+
+    private static CompletableFuture<BoosterCatalogIndex> indexOf(RhoarBoosterCatalogService catalogService) {
+        return catalogService.index().thenApply(boosters -> BoosterCatalogIndex.of(catalogService, boosters));
+    }
+
+    /**
+     * @return the catalog in use, created on first use
+     */
+    private IndexedCatalog current() {
+        IndexedCatalog catalog = current;
+        if (catalog == null) {
+            // Creating the catalog has side effects (cloning, scheduling the snapshot update), so it must only run once
+            synchronized (initLock) {
+                catalog = current;
+                if (catalog == null) {
+                    catalog = createBoosterCatalog();
+                    current = catalog;
+                }
+            }
+        }
+        return catalog;
     }
 
     @Override
     public void waitForIndex() throws InterruptedException, ExecutionException {
-        RhoarBoosterCatalogService catalogService = defaultBoosterCatalog.get();
-        if (catalogService != null) {
-            catalogService.index().get();
+        CompletableFuture<BoosterCatalogReindex> reindex;
+        synchronized (this) {
+            reindex = pendingReindex;
+        }
+        if (reindex != null) {
+            reindex.get();
+        }
+        IndexedCatalog catalog = current;
+        if (catalog != null) {
+            catalog.index.get();
         }
     }
 
     @Override
     public boolean isIndexing() {
-        RhoarBoosterCatalogService catalogService = defaultBoosterCatalog.get();
-        if (catalogService != null) {
-            return !catalogService.index().isDone();
+        synchronized (this) {
+            if (pendingReindex != null && !pendingReindex.isDone()) {
+                return true;
+            }
+        }
+        IndexedCatalog catalog = current;
+        if (catalog != null) {
+            return !catalog.index.isDone();
         }
         return false;
     }
 
-    private RhoarBoosterCatalogService createBoosterCatalog(RhoarBoosterCatalogService current) {
-        if (current != null) {
-            return current;
+    private IndexedCatalog createBoosterCatalog() {
+        final String catalogUrl = boosterCatalogRepositoryURI();
+        final String ref = resolveRef(catalogUrl, boosterCatalogRepositoryRef());
+        final String snapshotUri = snapshot == null ? null : snapshot.uriOf(catalogUrl, ref);
+        // Resolved before cloning, and only trusted if the ref did not move while cloning
+        final String commit = snapshotUri == null ? resolveCommit(catalogUrl, ref) : null;
+        RhoarBoosterCatalogService service = buildCatalogService(snapshotUri == null ? catalogUrl : snapshotUri, ref);
+        CompletableFuture<Set<RhoarBooster>> result = service.index();
+        if (snapshotUri != null) {
+            log.info(() -> "Indexing booster catalog from snapshot " + snapshotUri);
+            indexedCommit = snapshot.commitOf(catalogUrl, ref);
+            // The snapshot may be outdated, reindex in the background if the ref moved since
+            result.thenRunAsync(this::reindex, async);
+        } else {
+            result.thenRunAsync(() -> {
+                if (commit != null) {
+                    if (commit.equals(resolveCommit(catalogUrl, ref))) {
+                        indexedCommit = commit;
+                    } else {
+                        // The ref moved while cloning, index it again to know what is served
+                        reindex();
+                    }
+                }
+                if (snapshot != null) {
+                    // Let the next instance start from a snapshot
+                    updateSnapshot(catalogUrl, ref);
+                }
+            }, async);
+        }
+        if (LAUNCHER_PREFETCH_BOOSTERS.booleanValue(true)) {
+            result.thenRunAsync(service::prefetchBoosters);
+        }
+        return new IndexedCatalog(service, indexOf(service));
+    }
+
+    /**
+     * @return the URI of the updated snapshot or null if there is none
+     */
+    private String updateSnapshot(String catalogUrl, String ref) {
+        try {
+            snapshot.update(catalogUrl, ref);
+            return snapshot.uriOf(catalogUrl, ref);
+        } catch (RuntimeException e) {
+            log.log(Level.WARNING, "Error while updating the booster catalog snapshot", e);
+            return null;
         }
-        RhoarBoosterCatalogService service = new RhoarBoosterCatalogService.Builder()
-                .catalogRepository(boosterCatalogRepositoryURI())
-                .catalogRef(resolveRef(boosterCatalogRepositoryURI(), boosterCatalogRepositoryRef()))
+    }
+
+    private RhoarBoosterCatalogService buildCatalogService(String catalogRepository, String ref) {
+        return new RhoarBoosterCatalogService.Builder()
+                .catalogRepository(catalogRepository)
+                .catalogRef(ref)
                 .filter(filter())
                 .executor(async)
                 .build();
-        CompletableFuture<Set<RhoarBooster>> result = service.index();
+    }
+
+    /**
+     * Indexes the catalog next to the current one and swaps it in once ready.
+     * Nothing is indexed if the ref still points to the commit the current catalog was indexed from.
+     * <p>
+     * Never waits for the index: it runs on the same executor, so the swap is composed on its completion instead.
+     */
+    private CompletableFuture<BoosterCatalogReindex> reindexAndSwap() {
+        final long start = System.nanoTime();
+        final String catalogUrl = boosterCatalogRepositoryURI();
+        final String ref = resolveRef(catalogUrl, boosterCatalogRepositoryRef());
+        final String commit = resolveCommit(catalogUrl, ref);
+        final IndexedCatalog previous = current;
+        final ImmutableBoosterCatalogReindex.Builder result = ImmutableBoosterCatalogReindex.builder()
+                .ref(ref);
+        if (commit != null && previous != null && commit.equals(indexedCommit) && previous.index.isDone()
+                && !previous.index.isCompletedExceptionally()) {
+            return CompletableFuture.completedFuture(reindexed(result.unchanged(true).commit(commit), start));
+        }
+        final String snapshotUri = snapshot == null ? null : updateSnapshot(catalogUrl, ref);
+        final RhoarBoosterCatalogService next = buildCatalogService(snapshotUri == null ? catalogUrl : snapshotUri, ref);
+        final CompletableFuture<BoosterCatalogIndex> nextIndex = indexOf(next);
+        return nextIndex
+                .thenCompose(index -> prefetch(next))
+                .thenApplyAsync(prefetched -> {
+                    final String indexedAt;
+                    if (snapshotUri != null) {
+                        // The snapshot is what was indexed
+                        indexedAt = snapshot.commitOf(catalogUrl, ref);
+                    } else if (commit != null && !commit.equals(resolveCommit(catalogUrl, ref))) {
+                        // The ref moved while cloning, the indexed commit is unknown until the next reindex
+                        indexedAt = null;
+                    } else {
+                        indexedAt = commit;
+                    }
+                    // Both are complete by now, getNow never waits
+                    Set<RhoarBooster> boosters = next.index().getNow(Collections.emptySet());
+                    Collection<RhoarBooster> before = previous == null ?
+                            Collections.emptySet() : previous.service.index().getNow(Collections.emptySet());
+                    countChanges(before, boosters, result);
+                    current = new IndexedCatalog(next, nextIndex);
+                    indexedCommit = indexedAt;
+                    return reindexed(result.unchanged(false).commit(indexedAt), start);
+                }, async);
+    }
+
+    /**
+     * Prefetches the boosters of a catalog before it is swapped in, so requests never wait for the new boosters
+     */
+    private static CompletableFuture<Void> prefetch(RhoarBoosterCatalogService catalogService) {
         if (LAUNCHER_PREFETCH_BOOSTERS.booleanValue(true)) {
-            result.thenRunAsync(service::prefetchBoosters);
+            return CompletableFuture.runAsync(catalogService::prefetchBoosters);
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * Records, logs and notifies the outcome of a reindex
+     */
+    private BoosterCatalogReindex reindexed(ImmutableBoosterCatalogReindex.Builder result, long start) {
+        BoosterCatalogReindex reindex = result
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .build();
+        lastReindex = reindex;
+        log.info(() -> String.format("Booster catalog reindexed from %s (%s) in %d ms: %s, %d added, %d removed, %d updated",
+                                     reindex.getRef(), reindex.getCommit(), reindex.getDurationMillis(),
+                                     reindex.isUnchanged() ? "unchanged" : "swapped",
+                                     reindex.getAdded(), reindex.getRemoved(), reindex.getUpdated()));
+        if (!reindex.isUnchanged()) {
+            for (Consumer<BoosterCatalogReindex> listener : reindexListeners) {
+                try {
+                    listener.accept(reindex);
+                } catch (RuntimeException e) {
+                    log.log(Level.WARNING, "Error while notifying a booster catalog reindex", e);
+                }
+            }
+        }
+        return reindex;
+    }
+
+    /**
+     * Counts the boosters added, removed or whose data changed between two indexes
+     */
+    static void countChanges(Collection<RhoarBooster> previous, Collection<RhoarBooster> next, ImmutableBoosterCatalogReindex.Builder result) {
+        Map<String, Map<String, Object>> before = exportableDataByKey(previous);
+        Map<String, Map<String, Object>> after = exportableDataByKey(next);
+        int added = 0;
+        int updated = 0;
+        for (Map.Entry<String, Map<String, Object>> entry : after.entrySet()) {
+            if (!before.containsKey(entry.getKey())) {
+                added++;
+            } else if (!Objects.equals(before.get(entry.getKey()), entry.getValue())) {
+                updated++;
+            }
+        }
+        int removed = 0;
+        for (String key : before.keySet()) {
+            if (!after.containsKey(key)) {
+                removed++;
+            }
+        }
+        result.added(added).removed(removed).updated(updated);
+    }
+
+    private static Map<String, Map<String, Object>> exportableDataByKey(Collection<RhoarBooster> boosters) {
+        Map<String, Map<String, Object>> result = new HashMap<>();
+        for (RhoarBooster booster : boosters) {
+            String key = (booster.getMission() == null ? "" : booster.getMission().getId()) + '/' +
+                    (booster.getRuntime() == null ? "" : booster.getRuntime().getId()) + '/' +
+                    (booster.getVersion() == null ? "" : booster.getVersion().getId());
+            result.put(key, booster.getExportableData());
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the commit a branch or tag points to in the remote repository, without cloning it
+     *
+     * @return the commit id or null if it could not be resolved
+     */
+    static String resolveCommit(String catalogUrl, String ref) {
+        try {
+            Map<String, Ref> refs = Git.lsRemoteRepository().setRemote(catalogUrl).setTimeout(30).callAsMap();
+            Ref found = refs.get(Constants.R_HEADS + ref);
+            if (found == null) {
+                found = refs.get(Constants.R_TAGS + ref);
+            }
+            if (found == null) {
+                return ObjectId.isId(ref) ? ref : null;
+            }
+            ObjectId id = found.getPeeledObjectId() != null ? found.getPeeledObjectId() : found.getObjectId();
+            return id.getName();
+        } catch (GitAPIException | RuntimeException e) {
+            log.log(Level.FINE, "Could not resolve " + ref + " in " + catalogUrl, e);
+            return null;
         }
-        return service;
     }
 
     static Predicate<RhoarBooster> filter() {
@@ -168,4 +481,19 @@ public class RhoarBoosterCatalogFactory implements BoosterCatalogFactory {
         }
         return catalogRef;
     }
-}
\ No newline at end of file
+
+    /**
+     * A catalog and its lookup tables
+     */
+    private static final class IndexedCatalog {
+
+        private final RhoarBoosterCatalogService service;
+
+        private final CompletableFuture<BoosterCatalogIndex> index;
+
+        private IndexedCatalog(RhoarBoosterCatalogService service, CompletableFuture<BoosterCatalogIndex> index) {
+            this.service = service;
+            this.index = index;
+        }
+    }
+}
@@ -3,6 +3,9 @@ package io.fabric8.launcher.core.impl.documentation;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -17,6 +20,9 @@ import javax.inject.Inject;
 
 import io.fabric8.launcher.core.api.documentation.BoosterDocumentationStore;
 import io.quarkus.runtime.StartupEvent;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
 import org.eclipse.microprofile.context.ManagedExecutor;
 
 import static java.util.Objects.requireNonNull;
@@ -36,6 +42,11 @@ public class BoosterDocumentationStoreImpl implements BoosterDocumentationStore
 
     private Supplier<Path> documentationPathSupplier;
 
+    /**
+     * The documentation path whose commit was last read, and that commit
+     */
+    private volatile Map.Entry<Path, Optional<String>> documentationCommit;
+
     /**
      * Used in proxies;
      */
@@ -80,6 +91,31 @@ public class BoosterDocumentationStoreImpl implements BoosterDocumentationStore
         getDocumentationPath().get();
     }
 
+    @Override
+    public Optional<String> getDocumentationCommit() {
+        CompletableFuture<Path> future = getDocumentationPath();
+        if (!future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        Path path = future.join();
+        Map.Entry<Path, Optional<String>> current = documentationCommit;
+        if (current == null || !current.getKey().equals(path)) {
+            current = new AbstractMap.SimpleImmutableEntry<>(path, readCommit(path));
+            documentationCommit = current;
+        }
+        return current.getValue();
+    }
+
+    private static Optional<String> readCommit(Path path) {
+        try (Git git = Git.open(path.toFile())) {
+            ObjectId head = git.getRepository().resolve(Constants.HEAD);
+            return Optional.ofNullable(head).map(ObjectId::getName);
+        } catch (IOException e) {
+            logger.log(Level.FINE, "Could not read the documentation commit in " + path, e);
+            return Optional.empty();
+        }
+    }
+
     private synchronized CompletableFuture<Path> getDocumentationPath(final boolean reload) {
         if (reload || pathCompletableFuture == null) {
             pathCompletableFuture = createDocumentationPathFuture();
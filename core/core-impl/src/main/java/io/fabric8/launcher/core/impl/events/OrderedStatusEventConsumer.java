@@ -0,0 +1,59 @@
+package io.fabric8.launcher.core.impl.events;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import io.fabric8.launcher.core.api.events.LauncherStatusEventKind;
+import io.fabric8.launcher.core.api.events.StatusMessageEvent;
+
+/**
+ * Forwards the {@link LauncherStatusEventKind} events in the given order, no matter the order they are fired in.
+ * <p>
+ * Steps running concurrently may finish out of order, but clients expect each step to be reported after the
+ * previous ones. Events fired early are held until all the events expected before them were forwarded.
+ * Any other event (eg. errors) is forwarded right away, after the events still held: a step that completed is always
+ * reported, even if a step expected before it failed.
+ */
+public final class OrderedStatusEventConsumer implements Consumer<StatusMessageEvent> {
+
+    private final List<LauncherStatusEventKind> order;
+
+    private final Consumer<StatusMessageEvent> delegate;
+
+    private final Map<LauncherStatusEventKind, StatusMessageEvent> pending = new EnumMap<>(LauncherStatusEventKind.class);
+
+    private int next;
+
+    public OrderedStatusEventConsumer(List<LauncherStatusEventKind> order, Consumer<StatusMessageEvent> delegate) {
+        this.order = new ArrayList<>(order);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public synchronized void accept(StatusMessageEvent event) {
+        if (!(event.getStatusMessage() instanceof LauncherStatusEventKind) || !order.contains(event.getStatusMessage())) {
+            flush();
+            delegate.accept(event);
+            return;
+        }
+        pending.put((LauncherStatusEventKind) event.getStatusMessage(), event);
+        while (next < order.size() && pending.containsKey(order.get(next))) {
+            delegate.accept(pending.remove(order.get(next++)));
+        }
+    }
+
+    /**
+     * Forwards the events still held, in order, without waiting for the missing ones
+     */
+    public synchronized void flush() {
+        for (; next < order.size(); next++) {
+            StatusMessageEvent event = pending.remove(order.get(next));
+            if (event != null) {
+                delegate.accept(event);
+            }
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package io.fabric8.launcher.core.impl.filters;
 
-import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -10,18 +13,42 @@ import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
-import com.auth0.jwt.interfaces.RSAKeyProvider;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import io.fabric8.launcher.core.spi.PublicKeyProvider;
+import org.cache2k.Cache;
+import org.cache2k.Cache2kBuilder;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
 
 /**
  * Validates JWT token by looking up public key using kid claim from the header.
  * The actual lookup strategy should be defined by {@link PublicKeyProvider} instance.
  * It assumes that RSA256 has been used as algorithm and public key is in PKCS8 format.
+ * <p>
+ * Successful verifications are cached by the SHA-256 of the token until the token expires, as long as the
+ * {@link PublicKeyProvider} still returns the same key. Verifiers are reused per issuer and key.
  */
 class JWTValidator {
 
     private static final Logger log = Logger.getLogger(JWTValidator.class.getName());
 
+    private static final long MAX_VERIFIED_TOKENS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_JWT_CACHE_ENTRIES", "10000"));
+
+    private static final Cache<String, VerifiedToken> VERIFIED_TOKENS = Cache2kBuilder.of(String.class, VerifiedToken.class)
+            .name("verified-tokens")
+            .entryCapacity(MAX_VERIFIED_TOKENS)
+            .expiryPolicy((key, value, loadTime, oldEntry) -> value.expiresAt)
+            .sharpExpiry(true)
+            .build();
+
+    /**
+     * Issuers come from the tokens themselves, so the number of verifiers kept is bounded
+     */
+    private static final int MAX_VERIFIERS = 100;
+
+    private static final ConcurrentMap<String, Verifier> VERIFIERS = new ConcurrentHashMap<>();
+
     private final String expectedIssuer;
 
     private final PublicKeyProvider publicKeyProvider;
@@ -32,37 +59,92 @@ class JWTValidator {
     }
 
     boolean validate(String token) {
-
-        final Algorithm rsa = Algorithm.RSA256(new RSAPublicKeyProvider());
-        final JWTVerifier verifier = JWT.require(rsa)
-                .withIssuer(expectedIssuer)
-                .build();
+        final String cacheKey = sha256Hex(token);
+        final VerifiedToken verified = VERIFIED_TOKENS.peek(cacheKey);
+        if (verified != null && verified.matches(expectedIssuer, publicKeyProvider)) {
+            return true;
+        }
         try {
-            verifier.verify(token);
+            final DecodedJWT jwt = JWT.decode(token);
+            final String keyId = jwt.getKeyId();
+            final Optional<RSAPublicKey> key = publicKeyProvider.getKey(keyId);
+            if (!key.isPresent()) {
+                log.log(Level.WARNING, "Could not validate token: Public key not found for " + keyId);
+                return false;
+            }
+            verifierFor(keyId, key.get()).verify(token);
+            final Date expiresAt = jwt.getExpiresAt();
+            // Tokens that never expire are verified every time
+            if (expiresAt != null) {
+                VERIFIED_TOKENS.put(cacheKey, new VerifiedToken(expectedIssuer, keyId, key.get(), expiresAt.getTime()));
+            }
             return true;
         } catch (JWTVerificationException e) {
             log.log(Level.WARNING, "Could not validate token: " + e.getMessage(), e);
             return false;
         }
+    }
+
+    /**
+     * Used in benchmarks only
+     */
+    static void clearCaches() {
+        VERIFIED_TOKENS.clear();
+        VERIFIERS.clear();
+    }
 
+    private JWTVerifier verifierFor(String keyId, RSAPublicKey key) {
+        final String verifierKey = expectedIssuer + '\n' + keyId;
+        Verifier verifier = VERIFIERS.get(verifierKey);
+        if (verifier == null || !verifier.key.equals(key)) {
+            // New or rotated key
+            verifier = new Verifier(key, JWT.require(Algorithm.RSA256(key, null))
+                    .withIssuer(expectedIssuer)
+                    .build());
+            if (VERIFIERS.size() >= MAX_VERIFIERS) {
+                VERIFIERS.clear();
+            }
+            VERIFIERS.put(verifierKey, verifier);
+        }
+        return verifier.verifier;
     }
 
-    private class RSAPublicKeyProvider implements RSAKeyProvider {
+    private static final class Verifier {
 
-        @Override
-        public RSAPublicKey getPublicKeyById(String keyId) {
-            final Optional<RSAPublicKey> key = publicKeyProvider.getKey(keyId);
-            return key.orElseThrow(() -> new IllegalArgumentException("Public key not found for " + keyId));
+        private final RSAPublicKey key;
+
+        private final JWTVerifier verifier;
+
+        private Verifier(RSAPublicKey key, JWTVerifier verifier) {
+            this.key = key;
+            this.verifier = verifier;
         }
+    }
+
+    private static final class VerifiedToken {
+
+        private final String issuer;
+
+        private final String keyId;
+
+        private final RSAPublicKey key;
+
+        private final long expiresAt;
 
-        @Override
-        public RSAPrivateKey getPrivateKey() {
-            throw new UnsupportedOperationException("Only public key retrieval available");
+        private VerifiedToken(String issuer, String keyId, RSAPublicKey key, long expiresAt) {
+            this.issuer = issuer;
+            this.keyId = keyId;
+            this.key = key;
+            this.expiresAt = expiresAt;
         }
 
-        @Override
-        public String getPrivateKeyId() {
-            throw new UnsupportedOperationException("Only public key retrieval available");
+        /**
+         * The token was verified for the same issuer and its key was not revoked or rotated since
+         */
+        boolean matches(String expectedIssuer, PublicKeyProvider publicKeyProvider) {
+            return Objects.equals(issuer, expectedIssuer)
+                    && expiresAt > System.currentTimeMillis()
+                    && publicKeyProvider.getKey(keyId).map(key::equals).orElse(false);
         }
     }
 }
@@ -4,9 +4,14 @@ import java.io.IOException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.annotation.Nullable;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.fasterxml.jackson.databind.JsonNode;
 import io.fabric8.launcher.base.JsonUtils;
 import io.fabric8.launcher.base.http.HttpClient;
@@ -16,12 +21,20 @@ import io.fabric8.launcher.core.spi.IdentityProvider;
 import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import org.cache2k.Cache;
+import org.cache2k.Cache2kBuilder;
 
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
 import static io.fabric8.launcher.base.http.Requests.securedRequest;
 import static java.util.Objects.requireNonNull;
 
 /**
  * The implementation of the {@link IdentityProvider}
+ * <p>
+ * Brokered identities are cached per user subject, service and Keycloak token until the brokered token expires
+ * (or {@code LAUNCHER_IDENTITY_CACHE_TTL_SECONDS}, whichever comes first).
+ * The Keycloak token is part of the key, so a token that was not signed by Keycloak never gets a cached identity.
  *
  * @author <a href="mailto:ggastald@redhat.com">George Gastaldi</a>
  */
@@ -29,10 +42,28 @@ public class KeycloakIdentityProvider implements IdentityProvider {
 
     private static final Logger logger = Logger.getLogger(KeycloakIdentityProvider.class.getName());
 
+    private static final long TTL_SECONDS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_IDENTITY_CACHE_TTL_SECONDS", "300"));
+
+    private static final long MAX_ENTRIES = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_IDENTITY_CACHE_ENTRIES", "10000"));
+
+    /**
+     * Brokered tokens are dropped this long before they expire
+     */
+    private static final long EXPIRY_SKEW_SECONDS = 30;
+
     private final KeycloakParameters keycloakParameters;
 
     private final HttpClient httpClient;
 
+    /**
+     * Unnamed, as cache2k names must be unique and each instance (one per Keycloak) has its own cache
+     */
+    private final Cache<String, BrokeredIdentity> identities = Cache2kBuilder.of(String.class, BrokeredIdentity.class)
+            .entryCapacity(MAX_ENTRIES)
+            .expiryPolicy((key, value, loadTime, oldEntry) -> value.expiresAt)
+            .sharpExpiry(true)
+            .build();
+
     public KeycloakIdentityProvider(final KeycloakParameters keycloakParameters, final HttpClient httpClient) {
         this.keycloakParameters = Objects.requireNonNull(keycloakParameters, "keycloakParameters must be specified");
         this.httpClient = Objects.requireNonNull(httpClient, "httpClient must be specified");
@@ -42,13 +73,18 @@ public class KeycloakIdentityProvider implements IdentityProvider {
     public CompletableFuture<Optional<Identity>> getIdentityAsync(final Identity authorization, final String service) {
         requireNonNull(authorization, "authorization must be specified.");
         requireNonNull(service, "service must be specified.");
+        final String key = cacheKey(authorization, service);
+        final BrokeredIdentity cached = key == null ? null : identities.peek(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(Optional.of(cached.identity));
+        }
         String url = this.keycloakParameters.buildTokenUrl(service);
         return getToken(url, authorization).handle((r, e) -> {
             if (e != null) {
                 logger.log(Level.FINE, "Error while fetching token from keycloak for provider: " + service, e);
                 return Optional.empty();
             }
-            return r;
+            return store(key, r);
         });
     }
 
@@ -56,18 +92,35 @@ public class KeycloakIdentityProvider implements IdentityProvider {
     public Optional<Identity> getIdentity(Identity authorization, String service) {
         requireNonNull(authorization, "authorization must be specified.");
         requireNonNull(service, "service must be specified.");
+        final String key = cacheKey(authorization, service);
+        final BrokeredIdentity cached = key == null ? null : identities.peek(key);
+        if (cached != null) {
+            return Optional.of(cached.identity);
+        }
         String url = this.keycloakParameters.buildTokenUrl(service);
         Request request = securedRequest(authorization)
                 .url(url)
                 .build();
         try {
-            return httpClient.executeAndMap(request, KeycloakIdentityProvider::parseIdentity);
+            return store(key, httpClient.executeAndMap(request, KeycloakIdentityProvider::parseIdentity));
         } catch (final Exception e) {
             logger.log(Level.FINE, "Error while fetching token from keycloak for provider: " + service, e);
             return Optional.empty();
         }
     }
 
+    /**
+     * Evicts the identities brokered for the subject of the given authorization, eg. because a token was revoked
+     */
+    @Override
+    public void invalidate(Identity authorization) {
+        final String subject = subjectOf(authorization);
+        if (subject != null) {
+            final String prefix = subject + '\n';
+            identities.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
     /**
      * GET https://sso.openshift.io/auth/realms/rh-developers-launch/broker/{brokerType}/token
      * Authorization: Bearer <keycloakAccessToken>
@@ -76,24 +129,61 @@ public class KeycloakIdentityProvider implements IdentityProvider {
      * @param authorization
      * @return
      */
-    private CompletableFuture<Optional<Identity>> getToken(final String url, final Identity authorization) {
+    private CompletableFuture<BrokeredIdentity> getToken(final String url, final Identity authorization) {
         Request request = securedRequest(authorization)
                 .url(url)
                 .build();
         return httpClient.executeAndMapAsync(request, KeycloakIdentityProvider::parseIdentity);
     }
 
-    private static Optional<Identity> parseIdentity(Response r) {
+    private Optional<Identity> store(@Nullable String key, @Nullable BrokeredIdentity brokered) {
+        if (brokered == null) {
+            return Optional.empty();
+        }
+        if (key != null) {
+            identities.put(key, brokered);
+        }
+        return Optional.of(brokered.identity);
+    }
+
+    /**
+     * @return the cache key for the given authorization and service, null if the authorization is not a token
+     */
+    @Nullable
+    private static String cacheKey(Identity authorization, String service) {
+        final String subject = subjectOf(authorization);
+        if (subject == null) {
+            return null;
+        }
+        return subject + '\n' + service + '\n' + sha256Hex(((TokenIdentity) authorization).getToken());
+    }
+
+    @Nullable
+    private static String subjectOf(Identity authorization) {
+        if (!(authorization instanceof TokenIdentity)) {
+            return null;
+        }
+        final String token = ((TokenIdentity) authorization).getToken();
+        try {
+            final String subject = JWT.decode(token).getSubject();
+            return subject != null ? subject : sha256Hex(token);
+        } catch (JWTDecodeException e) {
+            return sha256Hex(token);
+        }
+    }
+
+    private static BrokeredIdentity parseIdentity(Response r) {
         try (ResponseBody body = r.body()) {
             if (body == null) {
-                return Optional.empty();
+                return null;
             }
             final String content = body.string();
             // Keycloak does not respect the content-type
             if (content.startsWith("{")) {
                 final JsonNode node = JsonUtils.readTree(content);
                 if (r.isSuccessful()) {
-                    return Optional.of(TokenIdentity.of(node.get("access_token").asText()));
+                    final long expiresIn = node.hasNonNull("expires_in") ? node.get("expires_in").asLong(-1) : -1;
+                    return new BrokeredIdentity(TokenIdentity.of(node.get("access_token").asText()), expiresIn);
                 } else if (r.code() == 400) {
                     throw new IllegalArgumentException(node.get("errorMessage").asText());
                 }
@@ -105,9 +195,35 @@ public class KeycloakIdentityProvider implements IdentityProvider {
                 throw new IllegalStateException("Access Token not found");
             }
             final String token = content.substring(idxAccessToken + tokenParam.length(), content.indexOf('&', idxAccessToken + tokenParam.length()));
-            return Optional.of(TokenIdentity.of(token));
+            return new BrokeredIdentity(TokenIdentity.of(token), formParameter(content, "expires_in"));
         } catch (final IOException e) {
             throw new IllegalStateException("Error while fetching token from keycloak", e);
         }
     }
+
+    private static long formParameter(String content, String name) {
+        for (String param : content.split("&")) {
+            if (param.startsWith(name + '=')) {
+                try {
+                    return Long.parseLong(param.substring(name.length() + 1));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static final class BrokeredIdentity {
+
+        private final Identity identity;
+
+        private final long expiresAt;
+
+        private BrokeredIdentity(Identity identity, long expiresInSeconds) {
+            this.identity = identity;
+            long ttl = expiresInSeconds > 0 ? Math.min(TTL_SECONDS, expiresInSeconds - EXPIRY_SKEW_SECONDS) : TTL_SECONDS;
+            this.expiresAt = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(Math.max(0, ttl));
+        }
+    }
 }
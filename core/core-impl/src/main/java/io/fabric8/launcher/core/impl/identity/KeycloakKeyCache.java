@@ -0,0 +1,152 @@
+package io.fabric8.launcher.core.impl.identity;
+
+import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.Nullable;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import io.fabric8.launcher.base.http.HttpClient;
+import io.fabric8.launcher.base.identity.TokenIdentity;
+import okhttp3.Request;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.base.http.Requests.securedRequest;
+
+/**
+ * Keeps the public keys (JWKS) of the Keycloak realm, parsed and indexed by key id, across requests.
+ * <p>
+ * Keys are refreshed in the background once they are older than 80% of {@code LAUNCHER_KEYCLOAK_JWKS_TTL_MILLIS}.
+ * An unknown key id (eg. after a key rotation) triggers a refetch, at most once every
+ * {@code LAUNCHER_KEYCLOAK_JWKS_MIN_REFETCH_MILLIS}. Concurrent fetches are coalesced into one.
+ */
+@ApplicationScoped
+public class KeycloakKeyCache {
+
+    private static final Logger logger = Logger.getLogger(KeycloakKeyCache.class.getName());
+
+    private static final long TTL_MILLIS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_KEYCLOAK_JWKS_TTL_MILLIS", String.valueOf(TimeUnit.HOURS.toMillis(1))));
+
+    private static final long MIN_REFETCH_MILLIS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_KEYCLOAK_JWKS_MIN_REFETCH_MILLIS", "10000"));
+
+    private final KeycloakParameters keycloakParameters;
+
+    private final HttpClient httpClient;
+
+    @Nullable
+    private volatile Keys keys;
+
+    @Nullable
+    private CompletableFuture<Keys> inFlight;
+
+    private long lastAttemptAt;
+
+    @Inject
+    public KeycloakKeyCache(final KeycloakParameters keycloakParameters, final HttpClient httpClient) {
+        this.keycloakParameters = Objects.requireNonNull(keycloakParameters, "keycloakParameters must be specified");
+        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must be specified");
+    }
+
+    /**
+     * no-args constructor used by CDI for proxying only
+     *
+     * @deprecated do not use this constructor
+     */
+    @Deprecated
+    KeycloakKeyCache() {
+        this.keycloakParameters = null;
+        this.httpClient = null;
+    }
+
+    /**
+     * Returns the key for the given key id, fetching the keys if needed
+     *
+     * @param keyId    the key id (kid)
+     * @param identity the identity used when the keys must be fetched right away
+     * @return the public key, empty if not found
+     */
+    public Optional<RSAPublicKey> getKey(String keyId, @Nullable TokenIdentity identity) {
+        long now = System.currentTimeMillis();
+        Keys current = keys;
+        if (current == null || now - current.fetchedAt >= TTL_MILLIS) {
+            current = fetchNow(identity, current);
+        } else if (now - current.fetchedAt >= TTL_MILLIS * 8 / 10) {
+            // Refresh ahead of expiry, the current keys are still used meanwhile
+            fetch(null, true);
+        }
+        RSAPublicKey key = current == null ? null : current.byKeyId.get(keyId);
+        if (key == null && current != null) {
+            // Maybe the keys were rotated
+            current = fetchNow(identity, current);
+            key = current == null ? null : current.byKeyId.get(keyId);
+        }
+        return Optional.ofNullable(key);
+    }
+
+    @Nullable
+    private Keys fetchNow(@Nullable TokenIdentity identity, @Nullable Keys fallback) {
+        CompletableFuture<Keys> future = fetch(identity, fallback != null);
+        if (future == null) {
+            return fallback;
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            logger.log(Level.SEVERE, "Error while fetching keys from keycloak", e.getCause());
+            return fallback;
+        }
+    }
+
+    /**
+     * @param rateLimited if true, no fetch is started when the last one was less than MIN_REFETCH_MILLIS ago
+     * @return the running fetch, or null if none was started
+     */
+    @Nullable
+    private synchronized CompletableFuture<Keys> fetch(@Nullable TokenIdentity identity, boolean rateLimited) {
+        if (inFlight != null) {
+            return inFlight;
+        }
+        long now = System.currentTimeMillis();
+        if (rateLimited && now - lastAttemptAt < MIN_REFETCH_MILLIS) {
+            return null;
+        }
+        lastAttemptAt = now;
+        // The certs endpoint is public, the identity is only sent when available
+        Request request = (identity == null ? new Request.Builder() : securedRequest(identity))
+                .url(keycloakParameters.buildKeysUrl())
+                .build();
+        CompletableFuture<Keys> future = httpClient
+                .executeAndMapAsync(request, KeycloakPublicKeyProvider::findKeys)
+                .thenApply(Keys::new);
+        inFlight = future;
+        future.whenComplete((result, error) -> completed(result));
+        return future;
+    }
+
+    private synchronized void completed(@Nullable Keys result) {
+        if (result != null) {
+            keys = result;
+        }
+        inFlight = null;
+    }
+
+    private static final class Keys {
+
+        private final Map<String, RSAPublicKey> byKeyId;
+
+        private final long fetchedAt = System.currentTimeMillis();
+
+        private Keys(Map<String, RSAPublicKey> byKeyId) {
+            this.byKeyId = Collections.unmodifiableMap(byKeyId);
+        }
+    }
+}
@@ -15,18 +15,15 @@ import javax.inject.Inject;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.TextNode;
-import io.fabric8.launcher.base.JsonUtils;
 import io.fabric8.launcher.base.http.HttpClient;
 import io.fabric8.launcher.base.identity.RSAPublicKeyConverter;
 import io.fabric8.launcher.base.identity.TokenIdentity;
 import io.fabric8.launcher.core.spi.Application;
 import io.fabric8.launcher.core.spi.PublicKeyProvider;
-import okhttp3.Request;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
 
-import static io.fabric8.launcher.base.http.HttpClient.getContent;
-import static io.fabric8.launcher.base.http.Requests.securedRequest;
+import static io.fabric8.launcher.base.http.HttpClient.readJson;
 
 @RequestScoped
 @Application(Application.ApplicationType.LAUNCHER)
@@ -34,52 +31,46 @@ public class KeycloakPublicKeyProvider implements PublicKeyProvider {
 
     private static final Logger logger = Logger.getLogger(KeycloakPublicKeyProvider.class.getName());
 
-    private final KeycloakParameters keycloakParameters;
-
     private final TokenIdentity identity;
 
-    private final HttpClient httpClient;
+    private final KeycloakKeyCache keyCache;
 
     /**
      * Used in proxies
      */
     @Deprecated
     public KeycloakPublicKeyProvider() {
-        this.keycloakParameters = null;
         this.identity = null;
-        this.httpClient = null;
+        this.keyCache = null;
     }
 
-    @Inject
     public KeycloakPublicKeyProvider(final KeycloakParameters keycloakParameters, TokenIdentity identity, final HttpClient httpClient) {
-        this.keycloakParameters = Objects.requireNonNull(keycloakParameters, "keycloakParameters must be specified");
+        this(identity, new KeycloakKeyCache(keycloakParameters, httpClient));
+    }
+
+    @Inject
+    public KeycloakPublicKeyProvider(TokenIdentity identity, final KeycloakKeyCache keyCache) {
         this.identity = Objects.requireNonNull(identity, "Token identity must be specified");
-        this.httpClient = Objects.requireNonNull(httpClient, "httpClient must be specified");
+        this.keyCache = Objects.requireNonNull(keyCache, "keyCache must be specified");
     }
 
     @Override
     public Optional<RSAPublicKey> getKey(String keyId) {
-        final String url = this.keycloakParameters.buildKeysUrl();
-        final Request request = securedRequest(identity)
-                .url(url)
-                .build();
         try {
-            final Map<String, RSAPublicKey> publicKeys = httpClient.executeAndMap(request, KeycloakPublicKeyProvider::findKeys);
-            final RSAPublicKey publicKey = Objects.requireNonNull(publicKeys).get(keyId);
-            if (publicKey == null) {
+            final Optional<RSAPublicKey> publicKey = keyCache.getKey(keyId, identity);
+            if (!publicKey.isPresent()) {
                 logger.log(Level.SEVERE, "Key not found for kid: " + keyId);
             }
-            return Optional.ofNullable(publicKey);
+            return publicKey;
         } catch (final Exception e) {
             logger.log(Level.SEVERE, "Error while fetching keys from keycloak for kid: " + keyId, e);
             return Optional.empty();
         }
     }
 
-    private static Map<String, RSAPublicKey> findKeys(Response r) {
+    static Map<String, RSAPublicKey> findKeys(Response r) {
         try (final ResponseBody body = r.body()) {
-            final String content = getContent(body);
-            final JsonNode node = JsonUtils.readTree(content);
+            final JsonNode node = readJson(body);
             if (!r.isSuccessful()) {
                 throw new IllegalStateException(extractFieldFromNodeOrDefaultTo(node, "errorMessage", ""));
             }
@@ -25,6 +25,7 @@ import io.fabric8.launcher.service.git.api.ImmutableGitOrganization;
 import io.fabric8.launcher.service.git.api.NoSuchRepositoryException;
 import org.apache.commons.text.StringSubstitutor;
 
+import static io.fabric8.launcher.base.Paths.createTempDirectory;
 import static io.fabric8.launcher.core.api.events.LauncherStatusEventKind.GITHUB_CREATE;
 import static io.fabric8.launcher.core.api.events.LauncherStatusEventKind.GITHUB_PUSHED;
 import static io.fabric8.launcher.core.api.events.LauncherStatusEventKind.GITHUB_WEBHOOK;
@@ -54,7 +55,7 @@ public class GitSteps {
 
     public Path clone(GitRepository repository) {
         try {
-            Path imported = Files.createTempDirectory("imported");
+            Path imported = createTempDirectory("imported");
             return gitService.clone(repository, imported);
         } catch (IOException e) {
             throw new UncheckedIOException("Error while creating temp directory", e);
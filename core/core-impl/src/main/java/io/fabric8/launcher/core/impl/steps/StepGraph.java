@@ -0,0 +1,148 @@
+package io.fabric8.launcher.core.impl.steps;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Runs steps on an {@link Executor} as soon as the steps they depend on are done, so independent steps run
+ * concurrently. Once a step fails no other step is started, and the steps already running are left to finish.
+ * <p>
+ * The duration of each step is kept to compute the critical path, the longest chain of dependent steps, which is
+ * the shortest time the whole graph could take.
+ */
+public final class StepGraph {
+
+    private final Executor executor;
+
+    private final List<Step<?>> steps = new ArrayList<>();
+
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+    public StepGraph(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Adds a step, started once the given dependencies are done
+     *
+     * @param name         the step name, used when reporting
+     * @param action       the step, which may get the result of its dependencies through {@link Step#get()}
+     * @param dependencies the steps that must be done before this one
+     */
+    public <T> Step<T> step(String name, Supplier<T> action, Step<?>... dependencies) {
+        Step<T> step = new Step<>(name, Arrays.asList(dependencies));
+        CompletableFuture<?>[] futures = step.dependencies.stream().map(d -> d.future).toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(futures).thenApplyAsync(ignored -> {
+            if (firstFailure.get() != null) {
+                throw new CancellationException("Step " + name + " not started, a previous step failed");
+            }
+            long start = System.nanoTime();
+            try {
+                return action.get();
+            } catch (RuntimeException | Error e) {
+                firstFailure.compareAndSet(null, e);
+                throw e;
+            } finally {
+                step.durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            }
+        }, executor).whenComplete((result, error) -> {
+            if (error != null) {
+                step.future.completeExceptionally(error);
+            } else {
+                step.future.complete(result);
+            }
+        });
+        synchronized (steps) {
+            steps.add(step);
+        }
+        return step;
+    }
+
+    /**
+     * Waits for all steps to be done
+     *
+     * @throws RuntimeException the failure of the first step that failed, in time
+     */
+    public void await() {
+        CompletableFuture<?>[] futures;
+        synchronized (steps) {
+            futures = steps.stream().map(s -> s.future).toArray(CompletableFuture[]::new);
+        }
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (CompletionException | CancellationException e) {
+            Throwable failure = firstFailure.get();
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return the time taken by the longest chain of dependent steps that ran
+     */
+    public long getCriticalPathMillis() {
+        Map<Step<?>, Long> paths = new LinkedHashMap<>();
+        long result = 0;
+        synchronized (steps) {
+            // Steps are added after their dependencies, so the path of each dependency is already known
+            for (Step<?> step : steps) {
+                long longestDependency = step.dependencies.stream().mapToLong(paths::get).max().orElse(0);
+                long path = longestDependency + step.durationMillis;
+                paths.put(step, path);
+                result = Math.max(result, path);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the duration of each step that ran, in milliseconds, by name
+     */
+    public Map<String, Long> getDurations() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        synchronized (steps) {
+            for (Step<?> step : steps) {
+                durations.put(step.name, step.durationMillis);
+            }
+        }
+        return durations;
+    }
+
+    public static final class Step<T> {
+
+        private final String name;
+
+        private final List<Step<?>> dependencies;
+
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private volatile long durationMillis;
+
+        private Step(String name, List<Step<?>> dependencies) {
+            this.name = name;
+            this.dependencies = dependencies;
+        }
+
+        /**
+         * @return the result of this step, waiting for it if needed
+         */
+        public T get() {
+            return future.join();
+        }
+    }
+}
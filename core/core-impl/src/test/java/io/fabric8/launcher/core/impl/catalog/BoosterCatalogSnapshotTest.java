@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Eclipse Public License version 1.0, available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package io.fabric8.launcher.core.impl.catalog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static io.fabric8.launcher.base.Paths.deleteDirectory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoosterCatalogSnapshotTest {
+
+    private Path origin;
+
+    private Path snapshotDir;
+
+    private Git git;
+
+    private BoosterCatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() throws IOException, GitAPIException {
+        origin = Files.createTempDirectory("catalog-origin");
+        snapshotDir = Files.createTempDirectory("catalog-snapshots");
+        git = Git.init().setDirectory(origin.toFile()).call();
+        snapshot = new BoosterCatalogSnapshot(snapshotDir);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        git.close();
+        deleteDirectory(origin);
+        deleteDirectory(snapshotDir);
+    }
+
+    @Test
+    void should_not_have_a_snapshot_before_update() {
+        assertThat(snapshot.uriOf(originUrl(), "master")).isNull();
+        assertThat(snapshot.commitOf(originUrl(), "master")).isNull();
+    }
+
+    @Test
+    void should_follow_the_ref_on_update() throws IOException, GitAPIException {
+        String first = commit("first");
+
+        assertThat(snapshot.update(originUrl(), "master")).isEqualTo(first);
+        assertThat(snapshot.uriOf(originUrl(), "master")).isNotNull();
+
+        String second = commit("second");
+        assertThat(snapshot.commitOf(originUrl(), "master")).isEqualTo(first);
+        assertThat(snapshot.update(originUrl(), "master")).isEqualTo(second);
+        assertThat(snapshot.commitOf(originUrl(), "master")).isEqualTo(second);
+    }
+
+    @Test
+    void should_resolve_tags() throws IOException, GitAPIException {
+        String tagged = commit("first");
+        git.tag().setName("v1").setAnnotated(true).setMessage("v1").call();
+        commit("second");
+
+        assertThat(snapshot.update(originUrl(), "v1")).isEqualTo(tagged);
+    }
+
+    private String originUrl() {
+        return origin.toUri().toString();
+    }
+
+    private String commit(String content) throws IOException, GitAPIException {
+        Files.write(origin.resolve("catalog.yaml"), content.getBytes());
+        git.add().addFilepattern(".").call();
+        return git.commit().setMessage(content).setAuthor("test", "test@example.com")
+                .setCommitter("test", "test@example.com").call().getName();
+    }
+}
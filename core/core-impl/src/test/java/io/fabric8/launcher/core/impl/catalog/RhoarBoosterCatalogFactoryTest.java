@@ -7,13 +7,23 @@
 
 package io.fabric8.launcher.core.impl.catalog;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
+import javax.ws.rs.ServiceUnavailableException;
+
 import io.fabric8.launcher.base.http.HttpClient;
+import io.fabric8.launcher.booster.catalog.rhoar.Mission;
 import io.fabric8.launcher.booster.catalog.rhoar.RhoarBooster;
 import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalog;
 import io.fabric8.launcher.booster.catalog.rhoar.Runtime;
 import io.fabric8.launcher.booster.catalog.rhoar.Version;
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogReindex;
+import io.fabric8.launcher.core.api.catalog.ImmutableBoosterCatalogReindex;
 import io.fabric8.launcher.core.impl.CoreEnvironment;
 import org.arquillian.smart.testing.rules.git.server.GitServer;
 import org.eclipse.microprofile.context.ManagedExecutor;
@@ -100,6 +110,69 @@ public class RhoarBoosterCatalogFactoryTest {
         assertThat(filter).rejects(mock);
     }
 
+    @Test
+    void testCatalogIndexIsUnavailableUntilIndexedInsteadOfBlocking() throws Exception {
+        try {
+            assertThat(factory.getCatalogIndex()).isNotNull();
+        } catch (ServiceUnavailableException e) {
+            assertThat(e.getResponse().getStatus()).isEqualTo(503);
+        }
+        factory.waitForIndex();
+        assertThat(factory.getCatalogIndex().getCatalog()).isSameAs(factory.getBoosterCatalog());
+    }
+
+    @Test
+    void testReindexListenersAreOnlyNotifiedWhenTheCatalogIsSwapped() {
+        List<BoosterCatalogReindex> notified = new CopyOnWriteArrayList<>();
+        factory.addReindexListener(notified::add);
+
+        BoosterCatalogReindex first = factory.reindex().join();
+        BoosterCatalogReindex second = factory.reindex().join();
+
+        assertThat(first.isUnchanged()).isFalse();
+        assertThat(second.isUnchanged()).isTrue();
+        assertThat(notified).containsExactly(first);
+    }
+
+    @Test
+    void testReindexDoesNotBlockTheOnlyExecutorThread() throws Exception {
+        RhoarBoosterCatalogFactory singleThreaded = new RhoarBoosterCatalogFactory(ManagedExecutor.builder().maxAsync(1).build(), HttpClient.create());
+
+        BoosterCatalogReindex reindex = singleThreaded.reindex().get(2, TimeUnit.MINUTES);
+
+        assertThat(reindex.isUnchanged()).isFalse();
+        assertThat(singleThreaded.getCatalogIndex().getCatalog()).isSameAs(singleThreaded.getBoosterCatalog());
+    }
+
+    @Test
+    void testCountChanges() {
+        RhoarBooster unchanged = booster("rest-http", "vert.x", "v1");
+        RhoarBooster updatedBefore = booster("crud", "vert.x", "v1");
+        RhoarBooster updatedAfter = booster("crud", "vert.x", "v2");
+        RhoarBooster removed = booster("cache", "vert.x", "v1");
+        RhoarBooster added = booster("health-check", "vert.x", "v1");
+        ImmutableBoosterCatalogReindex.Builder builder = ImmutableBoosterCatalogReindex.builder()
+                .ref("master")
+                .unchanged(false)
+                .durationMillis(0);
+
+        RhoarBoosterCatalogFactory.countChanges(Arrays.asList(unchanged, updatedBefore, removed),
+                                                Arrays.asList(unchanged, updatedAfter, added), builder);
+
+        BoosterCatalogReindex reindex = builder.build();
+        assertThat(reindex.getAdded()).isEqualTo(1);
+        assertThat(reindex.getRemoved()).isEqualTo(1);
+        assertThat(reindex.getUpdated()).isEqualTo(1);
+    }
+
+    private static RhoarBooster booster(String mission, String runtime, String data) {
+        final RhoarBooster mock = mock(RhoarBooster.class);
+        when(mock.getMission()).thenReturn(new Mission(mission));
+        when(mock.getRuntime()).thenReturn(new Runtime(runtime));
+        when(mock.getExportableData()).thenReturn(Collections.singletonMap("data", data));
+        return mock;
+    }
+
     @AfterEach
     void tearDown() {
         System.getProperties().remove(CoreEnvironment.LAUNCHER_FILTER_RUNTIME.propertyKey());
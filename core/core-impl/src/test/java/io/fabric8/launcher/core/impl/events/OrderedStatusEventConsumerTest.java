@@ -0,0 +1,62 @@
+package io.fabric8.launcher.core.impl.events;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import io.fabric8.launcher.core.api.events.LauncherStatusEventKind;
+import io.fabric8.launcher.core.api.events.StatusEventKind;
+import io.fabric8.launcher.core.api.events.StatusMessageEvent;
+import org.junit.jupiter.api.Test;
+
+import static io.fabric8.launcher.core.api.events.LauncherStatusEventKind.GITHUB_CREATE;
+import static io.fabric8.launcher.core.api.events.LauncherStatusEventKind.GITHUB_PUSHED;
+import static io.fabric8.launcher.core.api.events.LauncherStatusEventKind.OPENSHIFT_CREATE;
+import static io.fabric8.launcher.core.api.events.LauncherStatusEventKind.OPENSHIFT_PIPELINE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderedStatusEventConsumerTest {
+
+    private final UUID id = UUID.randomUUID();
+
+    private final List<StatusEventKind> received = new ArrayList<>();
+
+    @Test
+    void should_hold_events_fired_early() {
+        OrderedStatusEventConsumer consumer = new OrderedStatusEventConsumer(Arrays.asList(LauncherStatusEventKind.values()),
+                                                                             e -> received.add(e.getStatusMessage()));
+        consumer.accept(new StatusMessageEvent(id, OPENSHIFT_CREATE));
+        assertThat(received).isEmpty();
+
+        consumer.accept(new StatusMessageEvent(id, GITHUB_CREATE));
+        assertThat(received).containsExactly(GITHUB_CREATE);
+
+        consumer.accept(new StatusMessageEvent(id, GITHUB_PUSHED));
+        assertThat(received).containsExactly(GITHUB_CREATE, GITHUB_PUSHED, OPENSHIFT_CREATE);
+    }
+
+    @Test
+    void should_forward_other_events_right_away() {
+        OrderedStatusEventConsumer consumer = new OrderedStatusEventConsumer(Arrays.asList(OPENSHIFT_CREATE, OPENSHIFT_PIPELINE),
+                                                                             e -> received.add(e.getStatusMessage()));
+        consumer.accept(new StatusMessageEvent(id, new IllegalStateException("boom")));
+        consumer.accept(new StatusMessageEvent(id, OPENSHIFT_CREATE));
+
+        assertThat(received).containsExactly(null, OPENSHIFT_CREATE);
+    }
+
+    @Test
+    void should_flush_held_events_before_an_error() {
+        OrderedStatusEventConsumer consumer = new OrderedStatusEventConsumer(Arrays.asList(LauncherStatusEventKind.values()),
+                                                                             e -> received.add(e.getStatusMessage()));
+        consumer.accept(new StatusMessageEvent(id, GITHUB_CREATE));
+        consumer.accept(new StatusMessageEvent(id, OPENSHIFT_CREATE));
+        assertThat(received).containsExactly(GITHUB_CREATE);
+
+        // Pushing failed
+        consumer.accept(new StatusMessageEvent(id, new IllegalStateException("push failed")));
+
+        assertThat(received).containsExactly(GITHUB_CREATE, OPENSHIFT_CREATE, null);
+    }
+}
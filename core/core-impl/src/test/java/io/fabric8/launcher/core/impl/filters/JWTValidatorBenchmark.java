@@ -0,0 +1,52 @@
+package io.fabric8.launcher.core.impl.filters;
+
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.launcher.core.impl.filters.JWTValidatorTest.FixedPublicKeyProvider;
+
+import static io.fabric8.launcher.base.test.identity.TokenFixtures.VALID_TOKEN;
+
+/**
+ * Measures the cost of validating the same token on every request, with and without the verified-token cache.
+ * Not run as part of the test suite, run its main method instead.
+ */
+public class JWTValidatorBenchmark {
+
+    private static final int WARMUP = 2_000;
+
+    private static final int ITERATIONS = 20_000;
+
+    public static void main(String[] args) {
+        JWTValidator validator = new JWTValidator("osio", new FixedPublicKeyProvider());
+        run("uncached", validator, true, WARMUP);
+        run("cached", validator, false, WARMUP);
+        long uncached = run("uncached", validator, true, ITERATIONS);
+        long cached = run("cached", validator, false, ITERATIONS);
+        System.out.printf("Verification cost per request: %,d ns uncached, %,d ns cached (%.1fx)%n",
+                          uncached, cached, (double) uncached / cached);
+    }
+
+    /**
+     * @return the average time per validation, in nanoseconds
+     */
+    private static long run(String name, JWTValidator validator, boolean clearCaches, int iterations) {
+        long elapsed = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (clearCaches) {
+                // Same as before the cache: a new verifier and a full RSA verification on each request
+                JWTValidator.clearCaches();
+            }
+            long start = System.nanoTime();
+            if (!validator.validate(VALID_TOKEN)) {
+                throw new IllegalStateException(name + ": token should be valid");
+            }
+            elapsed += System.nanoTime() - start;
+        }
+        long average = elapsed / iterations;
+        if (iterations == ITERATIONS) {
+            System.out.printf("%s: %,d validations, %,d ns/op (total %d ms)%n", name, iterations, average,
+                              TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+        return average;
+    }
+}
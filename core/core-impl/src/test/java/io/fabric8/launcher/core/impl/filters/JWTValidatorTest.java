@@ -65,6 +65,19 @@ public class JWTValidatorTest {
         assertThat(isValid).isFalse();
     }
 
+    @Test
+    public void should_invalidate_cached_token_once_its_key_is_gone() {
+        // given
+        assertThat(new JWTValidator("osio", new FixedPublicKeyProvider()).validate(VALID_TOKEN)).isTrue();
+        final JWTValidator jwtValidator = new JWTValidator("osio", keyId -> Optional.empty());
+
+        // when
+        final boolean isValid = jwtValidator.validate(VALID_TOKEN);
+
+        // then
+        assertThat(isValid).isFalse();
+    }
+
     @Vetoed
     public static class FixedPublicKeyProvider implements PublicKeyProvider {
         @Override
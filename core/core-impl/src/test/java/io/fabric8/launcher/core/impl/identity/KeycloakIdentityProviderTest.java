@@ -1,14 +1,24 @@
 package io.fabric8.launcher.core.impl.identity;
 
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 import io.fabric8.launcher.base.http.HttpClient;
 import io.fabric8.launcher.base.identity.TokenIdentity;
 import io.fabric8.launcher.core.spi.IdentityProvider;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class KeycloakIdentityProviderTest {
 
@@ -26,4 +36,32 @@ public class KeycloakIdentityProviderTest {
         assertThat(identityProvider.getIdentityAsync(TokenIdentity.of("token"), "openshift-v3").get())
                 .isEmpty();
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMultipleInstances() {
+        KeycloakParameters parameters = ImmutableKeycloakParameters.builder().url("http://localhost:5555").realm("realm").build();
+        HttpClient httpClient = mock(HttpClient.class);
+        when(httpClient.executeAndMap(any(Request.class), any(Function.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            Response response = new Response.Builder()
+                    .request(request)
+                    .protocol(Protocol.HTTP_1_1)
+                    .code(200)
+                    .message("OK")
+                    .body(ResponseBody.create(null, "{\"access_token\":\"brokered\",\"expires_in\":3600}"))
+                    .build();
+            return ((Function<Response, Object>) invocation.getArgument(1)).apply(response);
+        });
+        // Each instance has its own cache, creating another one must not clash with the first
+        IdentityProvider first = new KeycloakIdentityProvider(parameters, httpClient);
+        IdentityProvider second = new KeycloakIdentityProvider(parameters, httpClient);
+
+        assertThat(first.getIdentity(TokenIdentity.of("token"), "openshift-v3")).contains(TokenIdentity.of("brokered"));
+        assertThat(first.getIdentity(TokenIdentity.of("token"), "openshift-v3")).contains(TokenIdentity.of("brokered"));
+        verify(httpClient, times(1)).executeAndMap(any(Request.class), any(Function.class));
+
+        assertThat(second.getIdentity(TokenIdentity.of("token"), "openshift-v3")).contains(TokenIdentity.of("brokered"));
+        verify(httpClient, times(2)).executeAndMap(any(Request.class), any(Function.class));
+    }
 }
@@ -0,0 +1,102 @@
+package io.fabric8.launcher.core.impl.steps;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.fabric8.launcher.core.impl.steps.StepGraph.Step;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+class StepGraphTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_run_independent_steps_concurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        StepGraph graph = new StepGraph(executor);
+        Step<String> first = graph.step("first", () -> awaitBoth(bothStarted, "a"));
+        Step<String> second = graph.step("second", () -> awaitBoth(bothStarted, "b"));
+        Step<String> joined = graph.step("joined", () -> first.get() + second.get(), first, second);
+
+        graph.await();
+
+        assertThat(joined.get()).isEqualTo("ab");
+        assertThat(graph.getDurations()).containsOnlyKeys("first", "second", "joined");
+    }
+
+    @Test
+    void should_not_run_steps_depending_on_failed_steps() {
+        AtomicBoolean ran = new AtomicBoolean();
+        StepGraph graph = new StepGraph(executor);
+        Step<Object> failed = graph.step("failed", () -> {
+            throw new IllegalStateException("boom");
+        });
+        graph.step("dependent", () -> ran.getAndSet(true), failed);
+
+        assertThatIllegalStateException().isThrownBy(graph::await).withMessage("boom");
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void should_not_start_independent_steps_after_a_failure() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        StepGraph graph = new StepGraph(executor);
+        Step<Object> first = graph.step("first", () -> {
+            failed.countDown();
+            throw new IllegalStateException("first");
+        });
+        assertThat(failed.await(5, TimeUnit.SECONDS)).isTrue();
+        sleep(50);
+        graph.step("independent", () -> ran.getAndSet(true));
+        graph.step("dependent", () -> {
+            throw new IllegalArgumentException("dependent");
+        }, first);
+
+        assertThatIllegalStateException().isThrownBy(graph::await).withMessage("first");
+        assertThat(ran).isFalse();
+    }
+
+    @Test
+    void should_compute_the_critical_path() {
+        StepGraph graph = new StepGraph(executor);
+        Step<Object> slow = graph.step("slow", () -> sleep(200));
+        Step<Object> fast = graph.step("fast", () -> sleep(10));
+        graph.step("last", () -> sleep(10), slow, fast);
+
+        graph.await();
+
+        assertThat(graph.getCriticalPathMillis()).isBetween(210L, 1_000L);
+    }
+
+    private static String awaitBoth(CountDownLatch latch, String result) {
+        latch.countDown();
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    private static Object sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
@@ -1,7 +1,7 @@
 package io.fabric8.launcher.creator.core.analysis
 
 import io.fabric8.launcher.creator.core.runCmd
-import java.nio.file.Files
+import io.fabric8.launcher.base.Paths
 import java.nio.file.Path
 
 fun cloneGitRepo(targetDir: Path, gitRepoUrl: String, gitRepoBranch: String?) {
@@ -52,7 +52,7 @@ fun listBranchesFromGit(gitRepoUrl: String): List<String> {
 
 fun <T> withGitRepo(gitRepoUrl: String, gitRepoBranch: String? = null, block: Path.() -> T): T {
     // Create temp dir
-    val td = Files.createTempDirectory("creator")
+    val td = Paths.createTempDirectory("creator")
     try {
         // Shallow-clone the repository
         cloneGitRepo(td, gitRepoUrl, gitRepoBranch)
@@ -6,7 +6,7 @@ import io.fabric8.launcher.creator.core.catalog.*
 import io.fabric8.launcher.creator.core.resource.Resources
 import io.fabric8.launcher.creator.core.resource.readResources
 import io.fabric8.launcher.creator.core.resource.writeResources
-import java.nio.file.Files
+import io.fabric8.launcher.base.Paths
 import java.nio.file.Path
 
 // Creates the code for an entire deployment within a temporary folder and then
@@ -15,7 +15,7 @@ import java.nio.file.Path
 // of this function is whatever was returned from the executed code block.
 fun <T> withDeployment(deployment: DeploymentDescriptor, block: Path.() -> T): T {
     // Create temp dir
-    val td = Files.createTempDirectory("creator")
+    val td = Paths.createTempDirectory("creator")
     try {
         // Apply the deployment
         applyDeployment(td, deployment)
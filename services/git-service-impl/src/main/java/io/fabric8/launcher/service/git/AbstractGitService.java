@@ -4,6 +4,7 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -12,6 +13,7 @@ import io.fabric8.launcher.base.identity.Identity;
 import io.fabric8.launcher.base.identity.IdentityVisitor;
 import io.fabric8.launcher.base.identity.TokenIdentity;
 import io.fabric8.launcher.base.identity.UserPasswordIdentity;
+import io.fabric8.launcher.service.git.RateLimitScheduler.Priority;
 import io.fabric8.launcher.service.git.api.GitRepository;
 import io.fabric8.launcher.service.git.api.NoSuchRepositoryException;
 import io.fabric8.launcher.service.git.spi.GitServiceSpi;
@@ -25,8 +27,10 @@ import org.eclipse.jgit.errors.NoRemoteRepositoryException;
 import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
 
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
 import static io.fabric8.launcher.service.git.GitEnvironment.LAUNCHER_GIT_COMMITTER_AUTHOR;
 import static io.fabric8.launcher.service.git.GitEnvironment.LAUNCHER_GIT_COMMITTER_AUTHOR_EMAIL;
+import static io.fabric8.launcher.service.git.RateLimitScheduler.withPriority;
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -44,6 +48,17 @@ public abstract class AbstractGitService implements GitServiceSpi {
 
     private static final String AUTHOR_EMAIL = LAUNCHER_GIT_COMMITTER_AUTHOR_EMAIL.value("45641108+redhat-developers-launcher@users.noreply.github.com");
 
+    private static final RetryPolicy<Object> WAIT_FOR_REPOSITORY_POLICY = new RetryPolicy<>()
+            .handleResult(null)
+            // Polls are low priority calls, rejected first when the rate limit budget runs low
+            .handleIf(RateLimitScheduler::isRateLimited)
+            .withBackoff(Long.parseLong(getEnvVarOrSysProp("LAUNCHER_GIT_REPOSITORY_WAIT_INITIAL_DELAY_MILLIS", "25")),
+                         Long.parseLong(getEnvVarOrSysProp("LAUNCHER_GIT_REPOSITORY_WAIT_MAX_DELAY_MILLIS", "2000")),
+                         ChronoUnit.MILLIS)
+            .withJitter(0.25)
+            .withMaxDuration(Duration.ofSeconds(Long.parseLong(getEnvVarOrSysProp("LAUNCHER_GIT_REPOSITORY_WAIT_TIMEOUT_SECONDS", "15"))))
+            .withMaxRetries(-1);
+
     private final Identity identity;
 
     @Override
@@ -122,17 +137,54 @@ public abstract class AbstractGitService implements GitServiceSpi {
         return identity;
     }
 
+    /**
+     * Waits until the given repository is visible through the provider API, checking with an exponential backoff
+     * (with jitter) that starts at {@code LAUNCHER_GIT_REPOSITORY_WAIT_INITIAL_DELAY_MILLIS} and gives up after
+     * {@code LAUNCHER_GIT_REPOSITORY_WAIT_TIMEOUT_SECONDS}
+     */
     protected GitRepository waitForRepository(String repositoryFullName) {
-        RetryPolicy<Object> retryPolicy = new RetryPolicy<>()
-                .handleResult(null)
-                .withDelay(Duration.ofSeconds(3))
-                .withMaxRetries(5);
+        GitRepository gitRepository = awaitRepository(repositoryFullName);
+        RepositoryVisibility.getInstance().visible(getProviderName(), getApiUrl(), repositoryFullName);
+        return gitRepository;
+    }
+
+    /**
+     * Same as {@link #waitForRepository(String)}, for a repository that was just created.
+     * The time it took to become visible is recorded
+     */
+    protected GitRepository waitForCreatedRepository(String repositoryFullName) {
+        long start = System.currentTimeMillis();
+        GitRepository gitRepository = awaitRepository(repositoryFullName);
+        RepositoryVisibility.getInstance().created(getProviderName(), getApiUrl(), repositoryFullName, System.currentTimeMillis() - start);
+        return gitRepository;
+    }
 
-        GitRepository gitRepository = Failsafe.with(retryPolicy)
-                .get(() -> getRepository(repositoryFullName).orElse(null));
+    private GitRepository awaitRepository(String repositoryFullName) {
+        GitRepository gitRepository = Failsafe.with(WAIT_FOR_REPOSITORY_POLICY)
+                .get(() -> withPriority(Priority.LOW, () -> getRepository(repositoryFullName).orElse(null)));
         if (gitRepository == null) {
             throw new NoSuchRepositoryException("Repository not found: " + repositoryFullName);
         }
         return gitRepository;
     }
+
+    /**
+     * @return true if the given repository was already seen by {@link #waitForRepository(String)}, so there is no
+     * need to wait for it again
+     */
+    protected boolean isRepositoryVisible(String repositoryFullName) {
+        return RepositoryVisibility.getInstance().isVisible(getProviderName(), getApiUrl(), repositoryFullName);
+    }
+
+    /**
+     * @return the API URL of the Git server this service talks to
+     */
+    protected abstract String getApiUrl();
+
+    /**
+     * @return the name this provider is reported with
+     */
+    protected String getProviderName() {
+        return getClass().getSimpleName().replace("Service", "");
+    }
 }
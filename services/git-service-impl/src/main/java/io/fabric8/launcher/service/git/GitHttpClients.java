@@ -0,0 +1,28 @@
+package io.fabric8.launcher.service.git;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import io.fabric8.launcher.base.http.HttpClient;
+
+/**
+ * Derives the {@link HttpClient} used to call the Git providers: GET requests are revalidated with the
+ * {@link io.fabric8.launcher.base.http.ConditionalRequestCache} and calls are scheduled by the {@link RateLimitScheduler}
+ */
+public final class GitHttpClients {
+
+    private static final Map<HttpClient, HttpClient> CLIENTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private GitHttpClients() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * @return the {@link HttpClient} for Git providers derived from the given one. The same instance is returned on every call
+     */
+    public static HttpClient of(HttpClient httpClient) {
+        return CLIENTS.computeIfAbsent(httpClient, client -> client.withConditionalRequestCache()
+                .withInterceptor(RateLimitScheduler.getInstance()));
+    }
+}
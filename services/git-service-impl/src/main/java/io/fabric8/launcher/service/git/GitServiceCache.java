@@ -0,0 +1,135 @@
+package io.fabric8.launcher.service.git;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import io.fabric8.launcher.base.IdleCache;
+import io.fabric8.launcher.base.http.HttpException;
+import io.fabric8.launcher.base.identity.Identity;
+import io.fabric8.launcher.service.git.api.AuthenticationFailedException;
+import io.fabric8.launcher.service.git.api.GitService;
+import org.apache.commons.lang3.ClassUtils;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
+
+/**
+ * Keeps the Git services (or the clients they delegate to) created for each identity, so the credentials are only
+ * verified against the Git provider the first time they are used.
+ * <p>
+ * Entries not used for {@code LAUNCHER_GIT_CLIENT_IDLE_SECONDS} are evicted, entries older than
+ * {@code LAUNCHER_GIT_CLIENT_MAX_AGE_SECONDS} are created (and their credentials verified) again, and at most
+ * {@code LAUNCHER_GIT_CLIENT_POOL_ENTRIES} are kept per provider.
+ * Services returned by {@link #guard(GitService, Identity, String...)} also evict their entry as soon as the provider
+ * rejects the credentials.
+ */
+public final class GitServiceCache<V> {
+
+    private static final long IDLE_MILLIS = TimeUnit.SECONDS.toMillis(Long.parseLong(getEnvVarOrSysProp("LAUNCHER_GIT_CLIENT_IDLE_SECONDS", "600")));
+
+    private static final long MAX_AGE_MILLIS = TimeUnit.SECONDS.toMillis(Long.parseLong(getEnvVarOrSysProp("LAUNCHER_GIT_CLIENT_MAX_AGE_SECONDS", "300")));
+
+    private static final int MAX_ENTRIES = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_GIT_CLIENT_POOL_ENTRIES", "1000"));
+
+    private final IdleCache<String, V> cache;
+
+    public GitServiceCache() {
+        this(IDLE_MILLIS, MAX_AGE_MILLIS, MAX_ENTRIES);
+    }
+
+    GitServiceCache(long idleMillis, long maxAgeMillis, int maxEntries) {
+        this.cache = new IdleCache<>(idleMillis, maxAgeMillis, maxEntries);
+    }
+
+    /**
+     * Returns the value for the given identity, creating it if needed. Failures are never cached
+     *
+     * @param identity the identity, only kept as a hash
+     * @param loader   creates the value
+     * @param scope    anything else the value depends on, eg. the API URL
+     */
+    public V get(Identity identity, Supplier<V> loader, String... scope) {
+        return cache.get(keyOf(identity, scope), k -> loader.get());
+    }
+
+    /**
+     * Evicts the value of the given identity, so it is created again on the next call
+     */
+    public void invalidate(Identity identity, String... scope) {
+        cache.invalidate(keyOf(identity, scope));
+    }
+
+    /**
+     * Wraps the given service so that a call rejected by the provider because of the credentials (HTTP 401)
+     * evicts the entry of the given identity and fails with an {@link AuthenticationFailedException}, letting the
+     * user authenticate again.
+     *
+     * @param service  the service created for the entry
+     * @param identity the identity of the entry
+     * @param scope    the scope of the entry
+     * @return a service implementing the same interfaces as the given one
+     */
+    public GitService guard(GitService service, Identity identity, String... scope) {
+        List<Class<?>> interfaces = ClassUtils.getAllInterfaces(service.getClass());
+        return (GitService) Proxy.newProxyInstance(service.getClass().getClassLoader(),
+                                                   interfaces.toArray(new Class<?>[0]),
+                                                   (proxy, method, args) -> {
+                                                       try {
+                                                           return method.invoke(service, args);
+                                                       } catch (InvocationTargetException e) {
+                                                           Throwable cause = e.getCause();
+                                                           if (isAuthenticationFailure(cause)) {
+                                                               invalidate(identity, scope);
+                                                               if (cause instanceof AuthenticationFailedException) {
+                                                                   throw cause;
+                                                               }
+                                                               throw new AuthenticationFailedException("The credentials were rejected by the Git provider", cause);
+                                                           }
+                                                           throw cause;
+                                                       }
+                                                   });
+    }
+
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return true if the given error, or any of its causes, is the provider rejecting the credentials
+     */
+    static boolean isAuthenticationFailure(Throwable error) {
+        for (Throwable t = error; t != null; t = (t.getCause() == t) ? null : t.getCause()) {
+            if (t instanceof AuthenticationFailedException) {
+                return true;
+            }
+            if (t instanceof HttpException && ((HttpException) t).getStatusCode() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+                return true;
+            }
+            if (t instanceof org.kohsuke.github.HttpException
+                    && ((org.kohsuke.github.HttpException) t).getResponseCode() == HttpURLConnection.HTTP_UNAUTHORIZED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String keyOf(Identity identity, String... scope) {
+        StringBuilder key = new StringBuilder(sha256Hex(identity.toRequestAuthorization()));
+        for (String s : scope) {
+            key.append('\n').append(s);
+        }
+        return key.toString();
+    }
+}
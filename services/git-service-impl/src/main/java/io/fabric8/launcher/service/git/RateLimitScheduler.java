@@ -0,0 +1,287 @@
+package io.fabric8.launcher.service.git;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.fabric8.launcher.base.http.Authorizations;
+import io.fabric8.launcher.base.http.HttpException;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+
+/**
+ * Schedules the calls made to the Git providers according to the rate limit budget of each token.
+ * <p>
+ * The budget is read from the {@code X-RateLimit-*} (GitHub, Gitea) or {@code RateLimit-*} (GitLab) response headers
+ * and decremented locally for every call. {@link Priority#HIGH} calls (eg. repository creation) run as long as there
+ * is budget left. {@link Priority#LOW} calls (webhooks, repository polling) run freely while more than
+ * {@code LAUNCHER_GIT_RATE_LIMIT_PACING} of the budget is left, are then spread over the time left until the reset,
+ * and wait for the reset once only the {@code LAUNCHER_GIT_RATE_LIMIT_RESERVE} kept for high priority calls is left.
+ * <p>
+ * Calls never wait in here, as that would hold the thread (and the connection slot) of the caller: a call that would
+ * have to wait fails fast with a {@code 429} response, carrying a {@code Retry-After} header and the reset time,
+ * without reaching the provider nor taking from the budget.
+ */
+public final class RateLimitScheduler implements Interceptor {
+
+    public enum Priority {
+        HIGH, LOW
+    }
+
+    private static final Logger log = Logger.getLogger(RateLimitScheduler.class.getName());
+
+    private static final double PACING = Double.parseDouble(getEnvVarOrSysProp("LAUNCHER_GIT_RATE_LIMIT_PACING", "0.5"));
+
+    private static final double RESERVE = Double.parseDouble(getEnvVarOrSysProp("LAUNCHER_GIT_RATE_LIMIT_RESERVE", "0.1"));
+
+    /**
+     * Budgets whose reset is older than this are discarded when there are too many of them
+     */
+    private static final long STALE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final int MAX_BUDGETS = 10_000;
+
+    private static final RateLimitScheduler INSTANCE = new RateLimitScheduler();
+
+    private static final ThreadLocal<Priority> PRIORITY = new ThreadLocal<>();
+
+    private static final MediaType TEXT_PLAIN = MediaType.parse("text/plain");
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final ConcurrentMap<String, Budget> budgets = new ConcurrentHashMap<>();
+
+    private RateLimitScheduler() {
+    }
+
+    public static RateLimitScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Runs the given supplier with the given {@link Priority} for the calls made in the current thread
+     */
+    public static <T> T withPriority(Priority priority, Supplier<T> supplier) {
+        Priority previous = PRIORITY.get();
+        PRIORITY.set(priority);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous == null) {
+                PRIORITY.remove();
+            } else {
+                PRIORITY.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return the budgets known, one per provider host and token
+     */
+    public Collection<Budget> getBudgets() {
+        return Collections.unmodifiableCollection(budgets.values());
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (budgets.size() > MAX_BUDGETS) {
+            long now = System.currentTimeMillis();
+            budgets.values().removeIf(b -> b.resetAtMillis + STALE_MILLIS < now);
+        }
+        Budget budget = budgets.computeIfAbsent(keyOf(request), Budget::new);
+        Priority priority = priorityOf(request);
+        long wait = budget.reserve(priority, System.currentTimeMillis());
+        if (wait > 0) {
+            log.log(Level.FINE, "Rejecting {0} priority call to {1}, budget available in {2} ms", new Object[]{priority, budget.getName(), wait});
+            budget.rejected.incrementAndGet();
+            return rateLimited(request, budget, wait);
+        }
+        Response response = chain.proceed(request);
+        budget.update(response);
+        return response;
+    }
+
+    /**
+     * @return a response telling the caller when to retry, as the provider would if the budget was exhausted
+     */
+    private static Response rateLimited(Request request, Budget budget, long waitMillis) {
+        long retryAfterSeconds = Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999));
+        long resetAtSeconds = TimeUnit.MILLISECONDS.toSeconds(budget.getResetAtMillis());
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(TOO_MANY_REQUESTS)
+                .message("Too Many Requests")
+                .header("Retry-After", String.valueOf(retryAfterSeconds))
+                .header("X-RateLimit-Reset", String.valueOf(resetAtSeconds))
+                .body(ResponseBody.create(TEXT_PLAIN, "Rate limit budget of " + budget.getName() + " exhausted, retry after "
+                        + retryAfterSeconds + " seconds (resets at " + resetAtSeconds + ")"))
+                .build();
+    }
+
+    /**
+     * @return true if the given error, or any of its causes, is a call rejected for lack of rate limit budget
+     * (by this scheduler or by the provider itself)
+     */
+    public static boolean isRateLimited(Throwable error) {
+        for (Throwable t = error; t != null; t = (t.getCause() == t) ? null : t.getCause()) {
+            if (t instanceof HttpException && ((HttpException) t).getStatusCode() == TOO_MANY_REQUESTS) {
+                return true;
+            }
+            if (t instanceof org.kohsuke.github.HttpException && ((org.kohsuke.github.HttpException) t).getResponseCode() == TOO_MANY_REQUESTS) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Priority priorityOf(Request request) {
+        Priority priority = PRIORITY.get();
+        if (priority != null) {
+            return priority;
+        }
+        return request.url().encodedPath().contains("/hooks") ? Priority.LOW : Priority.HIGH;
+    }
+
+    private static String keyOf(Request request) {
+        // Keyed by all the identity headers, GitLab private tokens are not sent as an Authorization header
+        String principal = Authorizations.principalOf(request);
+        // Only a prefix of the hash is kept, this key is exposed in the metrics
+        return request.url().host() + '/' + (principal == null ? "anonymous" : principal.substring(0, 12));
+    }
+
+    /**
+     * The rate limit budget of a token in a provider
+     */
+    public static final class Budget {
+
+        private final String name;
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        private long limit = -1;
+
+        private long remaining = -1;
+
+        private long resetAtMillis;
+
+        private long nextLowPrioritySlot;
+
+        Budget(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public synchronized long getLimit() {
+            return limit;
+        }
+
+        public synchronized long getRemaining() {
+            return remaining;
+        }
+
+        public synchronized long getResetAtMillis() {
+            return resetAtMillis;
+        }
+
+        /**
+         * @return the number of calls rejected for lack of budget
+         */
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        /**
+         * Takes one call from the budget, unless it has to wait
+         *
+         * @return 0 if the call may be executed now, otherwise how long it would have to wait. Nothing is taken then
+         */
+        synchronized long reserve(Priority priority, long now) {
+            if (limit < 0) {
+                // Unknown budget
+                return 0;
+            }
+            if (now >= resetAtMillis) {
+                remaining = limit;
+            }
+            long window = Math.max(0, resetAtMillis - now);
+            long wait;
+            if (priority == Priority.HIGH) {
+                wait = remaining > 0 ? 0 : window;
+            } else if (remaining > limit * PACING) {
+                wait = 0;
+            } else if (remaining > limit * RESERVE) {
+                // Spread over the time left until the reset: one call per interval
+                wait = Math.max(0, nextLowPrioritySlot - now);
+                if (wait == 0) {
+                    nextLowPrioritySlot = now + window / Math.max(1, remaining - (long) (limit * RESERVE));
+                }
+            } else {
+                wait = window;
+            }
+            if (wait == 0) {
+                remaining = Math.max(0, remaining - 1);
+            }
+            return wait;
+        }
+
+        synchronized void update(Response response) {
+            long newRemaining = parse(header(response, "X-RateLimit-Remaining", "RateLimit-Remaining"));
+            long newLimit = parse(header(response, "X-RateLimit-Limit", "RateLimit-Limit"));
+            long reset = parse(header(response, "X-RateLimit-Reset", "RateLimit-Reset"));
+            long now = System.currentTimeMillis();
+            if (newLimit >= 0) {
+                limit = newLimit;
+            }
+            if (newRemaining >= 0) {
+                remaining = newRemaining;
+            }
+            if (reset >= 0) {
+                // Either an epoch in seconds or a number of seconds from now
+                resetAtMillis = reset > 1_000_000_000L ? TimeUnit.SECONDS.toMillis(reset) : now + TimeUnit.SECONDS.toMillis(reset);
+            }
+            long retryAfter = parse(response.header("Retry-After"));
+            if (retryAfter >= 0 && (response.code() == 429 || response.code() == 403)) {
+                // Secondary (abuse) rate limit
+                remaining = 0;
+                resetAtMillis = now + TimeUnit.SECONDS.toMillis(retryAfter);
+                if (limit < 0) {
+                    limit = 1;
+                }
+            }
+        }
+
+        private static String header(Response response, String name, String alternative) {
+            String value = response.header(name);
+            return value != null ? value : response.header(alternative);
+        }
+
+        private static long parse(String value) {
+            if (value == null) {
+                return -1;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+    }
+}
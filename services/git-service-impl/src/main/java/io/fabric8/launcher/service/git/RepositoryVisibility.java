@@ -0,0 +1,98 @@
+package io.fabric8.launcher.service.git;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import io.fabric8.launcher.base.LatencyHistogram;
+
+/**
+ * Remembers when the created repositories became visible through the Git provider API, so later calls on the same
+ * repository (eg. creating webhooks) do not wait for it again.
+ * <p>
+ * Repositories are told apart by provider and API URL, as the same name may exist in several servers of the same
+ * provider (eg. gitlab.com and a self-hosted GitLab).
+ * It also keeps, per provider, how long the created repositories took to become visible.
+ */
+public final class RepositoryVisibility {
+
+    /**
+     * Repositories seen visible before this are checked again, they may have been deleted meanwhile
+     */
+    private static final long VISIBLE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final int MAX_REPOSITORIES = 10_000;
+
+    private static final int WINDOW = 1024;
+
+    private static final RepositoryVisibility INSTANCE = new RepositoryVisibility();
+
+    private final Map<String, Long> visibleAt = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MAX_REPOSITORIES;
+        }
+    };
+
+    private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    private RepositoryVisibility() {
+    }
+
+    public static RepositoryVisibility getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records that the given repository is visible
+     *
+     * @param provider           the Git provider
+     * @param apiUrl             the API URL of the Git server
+     * @param repositoryFullName the repository full name
+     */
+    public void visible(String provider, String apiUrl, String repositoryFullName) {
+        synchronized (visibleAt) {
+            visibleAt.put(keyOf(provider, apiUrl, repositoryFullName), System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Records that the given repository, just created, is visible
+     *
+     * @param provider           the Git provider
+     * @param apiUrl             the API URL of the Git server
+     * @param repositoryFullName the repository full name
+     * @param waitedMillis       how long it took to become visible since it was created
+     */
+    public void created(String provider, String apiUrl, String repositoryFullName, long waitedMillis) {
+        visible(provider, apiUrl, repositoryFullName);
+        latencies.computeIfAbsent(provider, p -> new LatencyHistogram(WINDOW)).record(waitedMillis);
+    }
+
+    /**
+     * @return true if the given repository was recently seen visible
+     */
+    public boolean isVisible(String provider, String apiUrl, String repositoryFullName) {
+        Long timestamp;
+        synchronized (visibleAt) {
+            timestamp = visibleAt.get(keyOf(provider, apiUrl, repositoryFullName));
+        }
+        return timestamp != null && System.currentTimeMillis() - timestamp < VISIBLE_MILLIS;
+    }
+
+    /**
+     * @return how long the repositories took to become visible, by provider
+     */
+    public Map<String, LatencyHistogram> getLatencies() {
+        return Collections.unmodifiableMap(latencies);
+    }
+
+    private static String keyOf(String provider, String apiUrl, String repositoryFullName) {
+        // Repository names are case-insensitive in the supported providers
+        return provider + '\n' + apiUrl + '\n' + repositoryFullName.toLowerCase(Locale.ENGLISH);
+    }
+}
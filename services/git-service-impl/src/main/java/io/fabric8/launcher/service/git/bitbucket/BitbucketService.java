@@ -70,6 +70,11 @@ public class BitbucketService extends AbstractGitService implements GitService {
         this.gitUser = getLoggedUser();
     }
 
+    @Override
+    protected String getApiUrl() {
+        return baseUri;
+    }
+
     @Override
     public String getProvider() {
         return "BitBucket";
@@ -147,7 +152,7 @@ public class BitbucketService extends AbstractGitService implements GitService {
                 .build();
         final GitRepository repository = httpClient.executeAndParseJson(request, BitbucketService::readGitRepository)
                 .orElseThrow(() -> new NoSuchRepositoryException(repositoryName));
-        return waitForRepository(repository.getFullName());
+        return waitForCreatedRepository(repository.getFullName());
     }
 
     @Override
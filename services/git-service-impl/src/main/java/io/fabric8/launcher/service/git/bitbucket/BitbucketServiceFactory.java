@@ -9,6 +9,8 @@ import javax.inject.Inject;
 import io.fabric8.launcher.base.http.HttpClient;
 import io.fabric8.launcher.base.identity.Identity;
 import io.fabric8.launcher.base.identity.ImmutableUserPasswordIdentity;
+import io.fabric8.launcher.service.git.GitHttpClients;
+import io.fabric8.launcher.service.git.GitServiceCache;
 import io.fabric8.launcher.service.git.api.GitService;
 import io.fabric8.launcher.service.git.api.GitServiceConfig;
 import io.fabric8.launcher.service.git.api.GitServiceFactory;
@@ -36,6 +38,8 @@ public class BitbucketServiceFactory implements GitServiceFactory {
      */
     private final Supplier<HttpClient> httpClient;
 
+    private final GitServiceCache<BitbucketService> services = new GitServiceCache<>();
+
     /**
      * Used in tests and proxies
      */
@@ -50,7 +54,10 @@ public class BitbucketServiceFactory implements GitServiceFactory {
 
     @Override
     public GitService create(Identity identity, String login, GitServiceConfig config) {
-        return new BitbucketService(identity, config.getApiUrl(), httpClient.get());
+        // The logged user is only fetched the first time an identity is used
+        BitbucketService service = services.get(identity, () -> new BitbucketService(identity, config.getApiUrl(), GitHttpClients.of(httpClient.get())),
+                                                config.getApiUrl());
+        return services.guard(service, identity, config.getApiUrl());
     }
 
     @Override
@@ -86,6 +86,11 @@ class GiteaService extends AbstractGitService implements GitService {
         this.gitUser = getLoggedUser();
     }
 
+    @Override
+    protected String getApiUrl() {
+        return baseUri;
+    }
+
     @Override
     public String getProvider() {
         return "Gitea";
@@ -180,9 +185,8 @@ class GiteaService extends AbstractGitService implements GitService {
 
         Request request = request("/api/v1/repos/search?" + param)
                 .get().build();
-        Optional<List<GitRepository>> repositories =
-                httpClient.executeAndParseJson(request, node -> toList(node.get("data"), GiteaService::toGitRepository));
-        List<GitRepository> gitRepositories = repositories.orElse(emptyList());
+        List<GitRepository> gitRepositories =
+                httpClient.executeAndParseJsonArray(request, "data", GiteaService::toGitRepository);
         if (filter.withOrganization() != null) {
             return gitRepositories.stream()
                     .filter(r -> r.getFullName().startsWith(filter.withOrganization().getName()))
@@ -9,6 +9,8 @@ import javax.inject.Inject;
 import io.fabric8.launcher.base.http.HttpClient;
 import io.fabric8.launcher.base.identity.Identity;
 import io.fabric8.launcher.base.identity.TokenIdentity;
+import io.fabric8.launcher.service.git.GitHttpClients;
+import io.fabric8.launcher.service.git.GitServiceCache;
 import io.fabric8.launcher.service.git.api.GitService;
 import io.fabric8.launcher.service.git.api.GitServiceConfig;
 import io.fabric8.launcher.service.git.api.GitServiceFactory;
@@ -42,6 +44,8 @@ public class GiteaServiceFactory implements GitServiceFactory {
      */
     private final Supplier<HttpClient> httpClient;
 
+    private final GitServiceCache<GiteaService> services = new GitServiceCache<>();
+
     /**
      * Used in tests and proxies
      */
@@ -58,11 +62,13 @@ public class GiteaServiceFactory implements GitServiceFactory {
     public GitService create(Identity identity, String login, GitServiceConfig config) {
         requireNonNull(identity, "Identity is required");
         requireNonNull(config, "GitProviderConfig is required");
-        return new GiteaService(identity,
-                                config.getApiUrl(),
-                                config.getServerProperties().getOrDefault("adminUser",
-                                                                          LAUNCHER_MISSIONCONTROL_GITEA_USERNAME.value()),
-                                login, httpClient.get());
+        final String adminUser = config.getServerProperties().getOrDefault("adminUser",
+                                                                           LAUNCHER_MISSIONCONTROL_GITEA_USERNAME.value());
+        // The logged user is only fetched the first time an identity is used
+        GiteaService service = services.get(identity, () -> new GiteaService(identity, config.getApiUrl(), adminUser, login,
+                                                                             GitHttpClients.of(httpClient.get())),
+                                            config.getApiUrl(), adminUser, login);
+        return services.guard(service, identity, config.getApiUrl(), adminUser, login);
     }
 
     @Override
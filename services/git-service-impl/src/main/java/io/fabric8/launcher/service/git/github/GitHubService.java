@@ -75,6 +75,11 @@ public final class GitHubService extends AbstractGitService implements GitServic
         return "GitHub";
     }
 
+    @Override
+    protected String getApiUrl() {
+        return delegate.getApiUrl();
+    }
+
 
     private static final String WEBHOOK_CONFIG_PROP_INSECURE_SSL_NAME = "insecure_ssl";
 
@@ -178,7 +183,7 @@ public final class GitHubService extends AbstractGitService implements GitServic
                                                          organization != null ? organization.getName() + "/" : "", repositoryName), e);
         }
 
-        final GitRepository gitRepository = waitForRepository(newlyCreatedRepo.getFullName());
+        final GitRepository gitRepository = waitForCreatedRepository(newlyCreatedRepo.getFullName());
         if (log.isLoggable(Level.FINEST)) {
             log.log(Level.FINEST, "Created " + gitRepository.getFullName() + " available at "
                     + gitRepository.getGitCloneUri());
@@ -252,8 +257,10 @@ public final class GitHubService extends AbstractGitService implements GitServic
             if (!repoName.contains("/")) {
                 repoName = createGitRepositoryFullName(delegate.getMyself().getLogin(), repoName);
             }
-            // Make sure that repository is available
-            waitForRepository(repoName);
+            // Make sure that repository is available, unless it was already seen (eg. right after createRepository)
+            if (!isRepositoryVisible(repoName)) {
+                waitForRepository(repoName);
+            }
             repo = delegate.getRepository(repoName);
         } catch (GHFileNotFoundException repoNotFound) {
             throw new NoSuchRepositoryException("The repository '" + repoName + "' was not found", repoNotFound);
@@ -16,6 +16,8 @@ import io.fabric8.launcher.base.identity.Identity;
 import io.fabric8.launcher.base.identity.IdentityVisitor;
 import io.fabric8.launcher.base.identity.TokenIdentity;
 import io.fabric8.launcher.base.identity.UserPasswordIdentity;
+import io.fabric8.launcher.service.git.GitHttpClients;
+import io.fabric8.launcher.service.git.GitServiceCache;
 import io.fabric8.launcher.service.git.api.AuthenticationFailedException;
 import io.fabric8.launcher.service.git.api.GitService;
 import io.fabric8.launcher.service.git.api.GitServiceConfig;
@@ -28,6 +30,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.kohsuke.github.AbuseLimitHandler;
 import org.kohsuke.github.GitHub;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.HttpConnector;
 import org.kohsuke.github.RateLimitHandler;
 import org.kohsuke.github.extras.OkHttp3Connector;
 
@@ -61,6 +64,10 @@ public class GitHubServiceFactory implements GitServiceFactory {
      */
     private final Supplier<HttpClient> httpClient;
 
+    private final GitServiceCache<GitHub> delegates = new GitServiceCache<>();
+
+    private volatile HttpConnector connector;
+
     /**
      * Used in tests and proxies
      */
@@ -91,16 +98,18 @@ public class GitHubServiceFactory implements GitServiceFactory {
             throw new IllegalArgumentException("Identity is required");
         }
 
-        final GitHub gitHub;
+        // Tokens already verified by a previous GitHub.connect are not verified again
+        final GitHub gitHub = delegates.get(identity, () -> connect(identity, config), config.getApiUrl());
+        return delegates.guard(new GitHubService(gitHub, identity), identity, config.getApiUrl());
+    }
+
+    private GitHub connect(final Identity identity, final GitServiceConfig config) {
         try {
-            // Disable Cache completely when accessing Github
-            OkHttpClient client = httpClient.get().getClient()
-                    .newBuilder().cache(null).build();
             @SuppressWarnings("deprecation") final GitHubBuilder ghb = new GitHubBuilder()
                     .withEndpoint(config.getApiUrl())
                     .withAbuseLimitHandler(AbuseLimitHandler.FAIL)
                     .withRateLimitHandler(RateLimitHandler.FAIL)
-                    .withConnector(new OkHttp3Connector(new okhttp3.OkUrlFactory(client)));
+                    .withConnector(getConnector());
             identity.accept(new IdentityVisitor() {
                 @Override
                 public void visit(TokenIdentity token) {
@@ -112,7 +121,7 @@ public class GitHubServiceFactory implements GitServiceFactory {
                     ghb.withPassword(userPassword.getUsername(), userPassword.getPassword());
                 }
             });
-            gitHub = ghb.build();
+            return ghb.build();
         } catch (final IOException e) {
             String errorMessage = e.getMessage();
             if (errorMessage.contains("Bad credentials")) {
@@ -129,7 +138,27 @@ public class GitHubServiceFactory implements GitServiceFactory {
             }
             throw new UncheckedIOException("Could not connect to GitHub. " + errorMessage, e);
         }
-        return new GitHubService(gitHub, identity);
+    }
+
+    /**
+     * @return the connector shared by all {@link GitHub} instances, so they share the same connection pool
+     */
+    @SuppressWarnings("deprecation")
+    private HttpConnector getConnector() {
+        HttpConnector result = connector;
+        if (result == null) {
+            synchronized (this) {
+                result = connector;
+                if (result == null) {
+                    // Disable the OkHttp disk cache, GET requests are revalidated by the ConditionalRequestCache instead
+                    OkHttpClient client = GitHttpClients.of(httpClient.get()).getClient()
+                            .newBuilder().cache(null).build();
+                    result = new OkHttp3Connector(new okhttp3.OkUrlFactory(client));
+                    connector = result;
+                }
+            }
+        }
+        return result;
     }
 
     @Override
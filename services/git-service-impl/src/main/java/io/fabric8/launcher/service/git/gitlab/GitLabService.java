@@ -4,7 +4,6 @@ import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -74,6 +73,11 @@ class GitLabService extends AbstractGitService implements GitService {
         this.gitUser = getLoggedUser();
     }
 
+    @Override
+    protected String getApiUrl() {
+        return baseUri;
+    }
+
     @Override
     public String getProvider() {
         return "GitLab";
@@ -123,13 +127,7 @@ class GitLabService extends AbstractGitService implements GitService {
                 .get()
                 .url(urlBuilder.toString())
                 .build();
-        return httpClient.executeAndParseJson(request, (JsonNode tree) -> {
-            List<GitRepository> orgs = new ArrayList<>();
-            for (JsonNode node : tree) {
-                orgs.add(readGitRepository(node));
-            }
-            return orgs;
-        }).orElse(Collections.emptyList());
+        return httpClient.executeAndParseJsonArray(request, null, GitLabService::readGitRepository);
     }
 
     @Override
@@ -156,7 +154,7 @@ class GitLabService extends AbstractGitService implements GitService {
                 .build();
         final GitRepository repository = httpClient.executeAndParseJson(request, GitLabService::readGitRepository)
                 .orElseThrow(() -> new NoSuchRepositoryException(repositoryName));
-        return waitForRepository(repository.getFullName());
+        return waitForCreatedRepository(repository.getFullName());
     }
 
     @Override
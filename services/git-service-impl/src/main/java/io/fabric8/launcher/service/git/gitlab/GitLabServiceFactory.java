@@ -10,6 +10,9 @@ import io.fabric8.launcher.base.http.AuthorizationType;
 import io.fabric8.launcher.base.http.HttpClient;
 import io.fabric8.launcher.base.identity.Identity;
 import io.fabric8.launcher.base.identity.TokenIdentity;
+import io.fabric8.launcher.service.git.GitHttpClients;
+import io.fabric8.launcher.service.git.GitServiceCache;
+import io.fabric8.launcher.service.git.api.GitService;
 import io.fabric8.launcher.service.git.api.GitServiceConfig;
 import io.fabric8.launcher.service.git.api.GitServiceFactory;
 import io.fabric8.launcher.service.git.api.ImmutableGitServiceConfig;
@@ -39,6 +42,8 @@ public class GitLabServiceFactory implements GitServiceFactory {
      */
     private final Supplier<HttpClient> httpClient;
 
+    private final GitServiceCache<GitLabService> services = new GitServiceCache<>();
+
     /**
      * Used in tests and proxies
      */
@@ -53,11 +58,14 @@ public class GitLabServiceFactory implements GitServiceFactory {
     }
 
     @Override
-    public GitLabService create(Identity identity, String login, GitServiceConfig config) {
+    public GitService create(Identity identity, String login, GitServiceConfig config) {
         if (!(identity instanceof TokenIdentity)) {
             throw new IllegalArgumentException("GitLabService supports only TokenIdentity. Not supported:" + identity);
         }
-        return new GitLabService((TokenIdentity) identity, config.getApiUrl(), httpClient.get());
+        // The logged user is only fetched the first time a token is used
+        GitLabService service = services.get(identity, () -> new GitLabService((TokenIdentity) identity, config.getApiUrl(), GitHttpClients.of(httpClient.get())),
+                                             config.getApiUrl());
+        return services.guard(service, identity, config.getApiUrl());
     }
 
     @Override
@@ -0,0 +1,98 @@
+package io.fabric8.launcher.service.git;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.fabric8.launcher.base.http.HttpException;
+import io.fabric8.launcher.base.identity.TokenIdentity;
+import io.fabric8.launcher.service.git.api.AuthenticationFailedException;
+import io.fabric8.launcher.service.git.api.GitService;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+public class GitServiceCacheTest {
+
+    @Test
+    public void shouldReuseValuesForTheSameIdentityAndScope() {
+        GitServiceCache<Integer> cache = new GitServiceCache<>();
+        AtomicInteger created = new AtomicInteger();
+
+        int first = cache.get(TokenIdentity.of("foo"), created::incrementAndGet, "https://api.github.com");
+        int second = cache.get(TokenIdentity.of("foo"), created::incrementAndGet, "https://api.github.com");
+
+        assertThat(second).isEqualTo(first);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotShareValuesBetweenIdentitiesOrScopes() {
+        GitServiceCache<Integer> cache = new GitServiceCache<>();
+        AtomicInteger created = new AtomicInteger();
+
+        cache.get(TokenIdentity.of("foo"), created::incrementAndGet, "https://api.github.com");
+        cache.get(TokenIdentity.of("bar"), created::incrementAndGet, "https://api.github.com");
+        cache.get(TokenIdentity.of("foo"), created::incrementAndGet, "https://github.example.com/api/v3");
+
+        assertThat(created).hasValue(3);
+        assertThat(cache.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldNotKeepFailures() {
+        GitServiceCache<Integer> cache = new GitServiceCache<>();
+
+        assertThatIllegalStateException().isThrownBy(() -> cache.get(TokenIdentity.of("foo"), () -> {
+            throw new IllegalStateException("Bad credentials");
+        }));
+
+        assertThat(cache.get(TokenIdentity.of("foo"), () -> 42)).isEqualTo(42);
+    }
+
+    @Test
+    public void shouldRecreateValuesOlderThanMaxAge() throws InterruptedException {
+        GitServiceCache<Integer> cache = new GitServiceCache<>(60_000, 100, 10);
+        AtomicInteger created = new AtomicInteger();
+
+        cache.get(TokenIdentity.of("foo"), created::incrementAndGet);
+        Thread.sleep(150);
+        cache.get(TokenIdentity.of("foo"), created::incrementAndGet);
+
+        assertThat(created).hasValue(2);
+    }
+
+    @Test
+    public void shouldEvictAndReportRejectedCredentials() {
+        GitServiceCache<GitService> cache = new GitServiceCache<>();
+        AtomicInteger created = new AtomicInteger();
+        GitService service = cache.guard(cache.get(TokenIdentity.of("revoked"), () -> {
+            created.incrementAndGet();
+            return unauthorizedService();
+        }), TokenIdentity.of("revoked"));
+
+        assertThatExceptionOfType(AuthenticationFailedException.class).isThrownBy(service::getLoggedUser);
+        assertThat(cache.size()).isZero();
+
+        cache.get(TokenIdentity.of("revoked"), () -> {
+            created.incrementAndGet();
+            return unauthorizedService();
+        });
+        assertThat(created).hasValue(2);
+    }
+
+    @Test
+    public void shouldNotEvictOnOtherErrors() {
+        assertThat(GitServiceCache.isAuthenticationFailure(new HttpException(404, "Not Found"))).isFalse();
+        assertThat(GitServiceCache.isAuthenticationFailure(new IllegalStateException(new HttpException(401, "Unauthorized")))).isTrue();
+    }
+
+    private static GitService unauthorizedService() {
+        return (GitService) Proxy.newProxyInstance(GitService.class.getClassLoader(), new Class<?>[]{GitService.class},
+                                                   (proxy, method, args) -> {
+                                                       throw new HttpException(401, "HTTP Error 401: Unauthorized.");
+                                                   });
+    }
+}
@@ -0,0 +1,131 @@
+package io.fabric8.launcher.service.git;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.fabric8.launcher.service.git.RateLimitScheduler.Budget;
+import io.fabric8.launcher.service.git.RateLimitScheduler.Priority;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitSchedulerTest {
+
+    @Test
+    public void shouldNotDelayCallsWhenBudgetIsUnknown() {
+        Budget budget = new Budget("test");
+        assertThat(budget.reserve(Priority.LOW, System.currentTimeMillis())).isZero();
+    }
+
+    @Test
+    public void shouldReadBudgetFromHeaders() {
+        Budget budget = new Budget("test");
+        long reset = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 60;
+        budget.update(response("X-RateLimit-Limit", "100", "X-RateLimit-Remaining", "80", "X-RateLimit-Reset", String.valueOf(reset)));
+        assertThat(budget.getLimit()).isEqualTo(100);
+        assertThat(budget.getRemaining()).isEqualTo(80);
+        assertThat(budget.getResetAtMillis()).isEqualTo(TimeUnit.SECONDS.toMillis(reset));
+    }
+
+    @Test
+    public void shouldRejectLowPriorityCallsBeforeHighPriorityOnes() {
+        Budget budget = new Budget("test");
+        long now = System.currentTimeMillis();
+        // GitLab style headers
+        budget.update(response("RateLimit-Limit", "100", "RateLimit-Remaining", "5",
+                               "RateLimit-Reset", String.valueOf(TimeUnit.MILLISECONDS.toSeconds(now) + 10)));
+        assertThat(budget.reserve(Priority.HIGH, now)).isZero();
+        assertThat(budget.reserve(Priority.LOW, now)).isPositive();
+        // Rejected calls do not take from the budget
+        assertThat(budget.getRemaining()).isEqualTo(4);
+    }
+
+    @Test
+    public void shouldSpreadLowPriorityCallsOverTheResetWindow() {
+        Budget budget = new Budget("test");
+        long now = System.currentTimeMillis();
+        budget.update(response("X-RateLimit-Limit", "100", "X-RateLimit-Remaining", "30",
+                               "X-RateLimit-Reset", String.valueOf(TimeUnit.MILLISECONDS.toSeconds(now) + 20)));
+        long first = budget.reserve(Priority.LOW, now);
+        long second = budget.reserve(Priority.LOW, now);
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    public void shouldFailFastWithTheResetTimeInsteadOfWaiting() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        long reset = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 60;
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(RateLimitScheduler.getInstance())
+                .addInterceptor(chain -> {
+                    calls.incrementAndGet();
+                    return response("X-RateLimit-Limit", "100", "X-RateLimit-Remaining", "0", "X-RateLimit-Reset", String.valueOf(reset))
+                            .newBuilder()
+                            .request(chain.request())
+                            .body(ResponseBody.create(null, ""))
+                            .build();
+                })
+                .build();
+        Request request = new Request.Builder().url("https://rate-limited.example.com/user")
+                .header("Authorization", "token exhausted")
+                .build();
+        client.newCall(request).execute().close();
+
+        long start = System.currentTimeMillis();
+        try (Response rejected = client.newCall(request).execute()) {
+            assertThat(rejected.code()).isEqualTo(429);
+            assertThat(Long.parseLong(rejected.header("Retry-After"))).isPositive();
+            assertThat(rejected.header("X-RateLimit-Reset")).isEqualTo(String.valueOf(reset));
+        }
+        assertThat(System.currentTimeMillis() - start).isLessThan(1_000);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    public void shouldKeepSeparateBudgetsForEachPrivateToken() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        long reset = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 60;
+        OkHttpClient client = new OkHttpClient.Builder()
+                .addInterceptor(RateLimitScheduler.getInstance())
+                .addInterceptor(chain -> {
+                    calls.incrementAndGet();
+                    return response("RateLimit-Limit", "100", "RateLimit-Remaining", "0", "RateLimit-Reset", String.valueOf(reset))
+                            .newBuilder()
+                            .request(chain.request())
+                            .body(ResponseBody.create(null, ""))
+                            .build();
+                })
+                .build();
+        Request alice = new Request.Builder().url("https://private-token.example.com/api/v4/user")
+                .header("Private-Token", "alice")
+                .build();
+        Request bob = alice.newBuilder().header("Private-Token", "bob").build();
+        client.newCall(alice).execute().close();
+
+        try (Response rejected = client.newCall(alice).execute()) {
+            assertThat(rejected.code()).isEqualTo(429);
+        }
+        try (Response other = client.newCall(bob).execute()) {
+            assertThat(other.code()).isEqualTo(200);
+        }
+        assertThat(calls).hasValue(2);
+    }
+
+    private static Response response(String... headers) {
+        Response.Builder builder = new Response.Builder()
+                .request(new Request.Builder().url("https://api.github.com/user").build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK");
+        for (int i = 0; i < headers.length; i += 2) {
+            builder.header(headers[i], headers[i + 1]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,41 @@
+package io.fabric8.launcher.service.git;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RepositoryVisibilityTest {
+
+    private static final String API_URL = "https://gitlab.com";
+
+    private final RepositoryVisibility visibility = RepositoryVisibility.getInstance();
+
+    @Test
+    public void shouldRememberVisibleRepositories() {
+        assertThat(visibility.isVisible("Test", API_URL, "foo/visible")).isFalse();
+
+        visibility.visible("Test", API_URL, "foo/visible");
+
+        assertThat(visibility.isVisible("Test", API_URL, "foo/visible")).isTrue();
+        assertThat(visibility.isVisible("Test", API_URL, "Foo/Visible")).isTrue();
+        assertThat(visibility.isVisible("Other", API_URL, "foo/visible")).isFalse();
+    }
+
+    @Test
+    public void shouldTellServersOfTheSameProviderApart() {
+        visibility.visible("Test", API_URL, "foo/server");
+
+        assertThat(visibility.isVisible("Test", "https://gitlab.example.com", "foo/server")).isFalse();
+    }
+
+    @Test
+    public void shouldRecordLatenciesOfCreatedRepositoriesOnly() {
+        visibility.created("Latency", API_URL, "foo/a", 10);
+        visibility.created("Latency", API_URL, "foo/b", 30);
+        visibility.visible("Latency", API_URL, "foo/c");
+
+        assertThat(visibility.getLatencies().get("Latency").getCount()).isEqualTo(2);
+        assertThat(visibility.getLatencies().get("Latency").getPercentile(100)).isEqualTo(30);
+        assertThat(visibility.isVisible("Latency", API_URL, "foo/a")).isTrue();
+    }
+}
@@ -6,6 +6,7 @@ import java.net.URL;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.openshift.api.model.BuildConfig;
@@ -33,6 +34,17 @@ public interface OpenShiftService {
     OpenShiftProject createProject(String name)
             throws DuplicateProjectException, IllegalArgumentException;
 
+    /**
+     * Creates a project with the specified, required name, without waiting for it to be visible.
+     *
+     * @param name the name of the project to create
+     * @return a future completed with the created {@link OpenShiftProject} once it is visible
+     * @throws DuplicateProjectException
+     * @throws IllegalArgumentException  If the name is not specified
+     */
+    CompletableFuture<OpenShiftProject> createProjectAsync(String name)
+            throws DuplicateProjectException, IllegalArgumentException;
+
 
     /**
      * Finds an {@link OpenShiftProject} with the specified, required name
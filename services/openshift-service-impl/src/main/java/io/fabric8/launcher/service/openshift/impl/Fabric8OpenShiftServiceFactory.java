@@ -40,6 +40,10 @@ public class Fabric8OpenShiftServiceFactory implements OpenShiftServiceFactory {
 
     private final OpenShiftClusterRegistry clusterRegistry;
 
+    private final OpenShiftClientPool clientPool = new OpenShiftClientPool();
+
+    private final ProjectReadiness projectReadiness = new ProjectReadiness();
+
     @Override
     public OpenShiftService create() {
         Parameters parameters = ImmutableParameters.builder()
@@ -52,7 +56,21 @@ public class Fabric8OpenShiftServiceFactory implements OpenShiftServiceFactory {
 
     @Override
     public Fabric8OpenShiftServiceImpl create(Parameters parameters) {
-        return new Fabric8OpenShiftServiceImpl(parameters);
+        return new Fabric8OpenShiftServiceImpl(clientPool.getClient(parameters), parameters.getCluster(), projectReadiness);
+    }
+
+    /**
+     * @return the pool holding the clients of the created {@link OpenShiftService} instances
+     */
+    public OpenShiftClientPool getClientPool() {
+        return clientPool;
+    }
+
+    /**
+     * @return how long the created projects took to be visible in each cluster
+     */
+    public ProjectReadiness getProjectReadiness() {
+        return projectReadiness;
     }
 
     @Override
@@ -11,6 +11,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -23,22 +25,14 @@ import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.ConfigMapBuilder;
 import io.fabric8.kubernetes.api.model.DoneableConfigMap;
 import io.fabric8.kubernetes.api.model.KubernetesList;
-import io.fabric8.kubernetes.client.Config;
-import io.fabric8.kubernetes.client.ConfigBuilder;
 import io.fabric8.kubernetes.client.KubernetesClientException;
-import io.fabric8.kubernetes.client.RequestConfig;
 import io.fabric8.kubernetes.client.dsl.Resource;
-import io.fabric8.launcher.base.identity.Identity;
-import io.fabric8.launcher.base.identity.IdentityVisitor;
-import io.fabric8.launcher.base.identity.TokenIdentity;
-import io.fabric8.launcher.base.identity.UserPasswordIdentity;
 import io.fabric8.launcher.service.openshift.api.DuplicateProjectException;
 import io.fabric8.launcher.service.openshift.api.ImmutableOpenShiftResource;
 import io.fabric8.launcher.service.openshift.api.ImmutableOpenShiftUser;
 import io.fabric8.launcher.service.openshift.api.OpenShiftCluster;
 import io.fabric8.launcher.service.openshift.api.OpenShiftProject;
 import io.fabric8.launcher.service.openshift.api.OpenShiftService;
-import io.fabric8.launcher.service.openshift.api.OpenShiftServiceFactory;
 import io.fabric8.launcher.service.openshift.api.OpenShiftUser;
 import io.fabric8.launcher.service.openshift.spi.OpenShiftServiceSpi;
 import io.fabric8.openshift.api.model.Build;
@@ -53,7 +47,6 @@ import io.fabric8.openshift.api.model.ProjectRequest;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.api.model.RouteList;
 import io.fabric8.openshift.api.model.Template;
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftClient;
 import io.fabric8.openshift.client.dsl.TemplateResource;
 
@@ -76,53 +69,27 @@ public final class Fabric8OpenShiftServiceImpl implements OpenShiftService, Open
 
     private static final Pattern PARAM_VAR_PATTERN = Pattern.compile("\\{\\{(.*?)/(.*?)\\[(.*)\\]\\}\\}");
 
-    static {
-        // Avoid using ~/.kube/config
-        System.setProperty(Config.KUBERNETES_AUTH_TRYKUBECONFIG_SYSTEM_PROPERTY, "false");
-        // Avoid using /var/run/secrets/kubernetes.io/serviceaccount/token
-        System.setProperty(Config.KUBERNETES_AUTH_TRYSERVICEACCOUNT_SYSTEM_PROPERTY, "false");
-    }
-
     private final OpenShiftClient client;
 
     @Nullable
     private final URL consoleUrl;
 
+    private final String clusterId;
+
+    private final ProjectReadiness readiness;
+
     /**
      * Creates an {@link OpenShiftService} implementation communicating
-     * with the backend service via the specified parameters
+     * with the backend service through the given client
      *
-     * @param parameters
+     * @param client    the client, usually shared through an {@link OpenShiftClientPool}
+     * @param cluster   the cluster the client is connected to
+     * @param readiness waits for the created projects to be visible
      */
-    Fabric8OpenShiftServiceImpl(final OpenShiftServiceFactory.Parameters parameters) {
-        OpenShiftCluster cluster = parameters.getCluster();
-        Identity identity = parameters.getIdentity();
-        ConfigBuilder configBuilder = new ConfigBuilder()
-                .withMasterUrl(cluster.getApiUrl())
-                //TODO Issue #17 never do this in production as it opens us to man-in-the-middle attacks
-                .withTrustCerts(true);
-        identity.accept(new IdentityVisitor() {
-            @Override
-            public void visit(TokenIdentity token) {
-                configBuilder.withOauthToken(token.getToken());
-            }
-
-            @Override
-            public void visit(UserPasswordIdentity userPassword) {
-                configBuilder
-                        .withUsername(userPassword.getUsername())
-                        .withPassword(userPassword.getPassword());
-            }
-        });
-        final Config config = configBuilder.build();
-        String impersonateUsername = parameters.getImpersonateUsername();
-        if (impersonateUsername != null) {
-            // Impersonate the given user name (can be null)
-            RequestConfig requestConfig = config.getRequestConfig();
-            requestConfig.setImpersonateUsername(impersonateUsername);
-            requestConfig.setImpersonateGroups("system:authenticated", "system:authenticated:oauth");
-        }
-        this.client = new DefaultOpenShiftClient(config);
+    Fabric8OpenShiftServiceImpl(final OpenShiftClient client, final OpenShiftCluster cluster, final ProjectReadiness readiness) {
+        this.client = client;
+        this.clusterId = cluster.getId();
+        this.readiness = readiness;
         try {
             this.consoleUrl = (cluster.getConsoleUrl() != null) ? new URL(cluster.getConsoleUrl()) : null;
         } catch (MalformedURLException e) {
@@ -137,6 +104,23 @@ public final class Fabric8OpenShiftServiceImpl implements OpenShiftService, Open
     public OpenShiftProject createProject(final String name) throws
             DuplicateProjectException,
             IllegalArgumentException {
+        try {
+            return createProjectAsync(name).join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<OpenShiftProject> createProjectAsync(final String name) throws
+            DuplicateProjectException,
+            IllegalArgumentException {
 
         // Create
         final ProjectRequest projectRequest;
@@ -149,32 +133,10 @@ public final class Fabric8OpenShiftServiceImpl implements OpenShiftService, Open
         } catch (final KubernetesClientException kce) {
             throw ExceptionMapper.throwMappedException(kce, name);
         }
-
-        // Block until exists
-        int counter = 0;
-        while (true) {
-            counter++;
-            if (projectExists(name)) {
-                // We good
-                break;
-            }
-            if (counter == 10) {
-                throw new IllegalStateException("Newly-created project "
-                                                        + name + " could not be found ");
-            }
-            log.log(FINEST, "Could not find project {0} after creating; waiting and trying again...", name);
-            try {
-                Thread.sleep(3000);
-            } catch (final InterruptedException ie) {
-                // Restore interrupted state...
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Someone interrupted thread while finding newly-created project", ie);
-            }
-        }
-        // Populate value object and return it
+        // Populate value object once it exists
         final String roundtripDisplayName = projectRequest.getMetadata().getName();
-
-        return new OpenShiftProjectImpl(roundtripDisplayName, consoleUrl);
+        return readiness.await(clusterId, name, () -> projectExists(name))
+                .thenApply(ready -> new OpenShiftProjectImpl(roundtripDisplayName, consoleUrl));
     }
 
     @Override
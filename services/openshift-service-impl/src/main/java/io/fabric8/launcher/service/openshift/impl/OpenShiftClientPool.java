@@ -0,0 +1,194 @@
+package io.fabric8.launcher.service.openshift.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import io.fabric8.kubernetes.client.Config;
+import io.fabric8.kubernetes.client.ConfigBuilder;
+import io.fabric8.kubernetes.client.RequestConfig;
+import io.fabric8.kubernetes.client.utils.HttpClientUtils;
+import io.fabric8.kubernetes.client.utils.ImpersonatorInterceptor;
+import io.fabric8.launcher.base.IdleCache;
+import io.fabric8.launcher.base.http.ResilienceInterceptor;
+import io.fabric8.launcher.base.identity.Identity;
+import io.fabric8.launcher.base.identity.IdentityVisitor;
+import io.fabric8.launcher.base.identity.TokenIdentity;
+import io.fabric8.launcher.base.identity.UserPasswordIdentity;
+import io.fabric8.launcher.service.openshift.api.OpenShiftCluster;
+import io.fabric8.launcher.service.openshift.api.OpenShiftServiceFactory;
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftConfig;
+import io.fabric8.openshift.client.internal.OpenShiftOAuthInterceptor;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
+
+/**
+ * Keeps the {@link OpenShiftClient} of each cluster, identity and impersonated user, so the same client is
+ * used across requests instead of creating a new one every time.
+ * <p>
+ * All clients of a cluster derive from the same {@link OkHttpClient}, sharing its connection pool, dispatcher and
+ * TLS configuration, so connections (and their handshakes) are reused across users.
+ * Clients not used for {@code LAUNCHER_OPENSHIFT_CLIENT_IDLE_SECONDS} are evicted, and at most
+ * {@code LAUNCHER_OPENSHIFT_CLIENT_POOL_ENTRIES} are kept.
+ */
+public class OpenShiftClientPool {
+
+    private static final long IDLE_MILLIS = TimeUnit.SECONDS.toMillis(Long.parseLong(getEnvVarOrSysProp("LAUNCHER_OPENSHIFT_CLIENT_IDLE_SECONDS", "300")));
+
+    private static final int MAX_CLIENTS = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_OPENSHIFT_CLIENT_POOL_ENTRIES", "1000"));
+
+    static {
+        // Avoid using ~/.kube/config
+        System.setProperty(Config.KUBERNETES_AUTH_TRYKUBECONFIG_SYSTEM_PROPERTY, "false");
+        // Avoid using /var/run/secrets/kubernetes.io/serviceaccount/token
+        System.setProperty(Config.KUBERNETES_AUTH_TRYSERVICEACCOUNT_SYSTEM_PROPERTY, "false");
+    }
+
+    /**
+     * The base client of each cluster, by API URL
+     */
+    private final ConcurrentMap<String, OkHttpClient> clusterClients = new ConcurrentHashMap<>();
+
+    /**
+     * Evicted clients are not closed, that would shut down the connection pool shared with the other clients
+     */
+    private final IdleCache<String, OpenShiftClient> clients = new IdleCache<>(IDLE_MILLIS, MAX_CLIENTS);
+
+    private final AtomicLong handshakes = new AtomicLong();
+
+    /**
+     * Returns the client for the given parameters, creating it if needed.
+     * Pooled clients are shared and must never be closed by callers.
+     */
+    public OpenShiftClient getClient(OpenShiftServiceFactory.Parameters parameters) {
+        return clients.get(keyOf(parameters), key -> createClient(parameters));
+    }
+
+    /**
+     * @return the number of TLS handshakes made with the clusters
+     */
+    public long getHandshakes() {
+        return handshakes.get();
+    }
+
+    public long getCreatedClients() {
+        return clients.getMisses();
+    }
+
+    public long getReusedClients() {
+        return clients.getHits();
+    }
+
+    public int getLiveClients() {
+        return clients.size();
+    }
+
+    /**
+     * @return the ratio of requests served by an existing client
+     */
+    public double getReuseRatio() {
+        return clients.getHitRatio();
+    }
+
+    private OpenShiftClient createClient(OpenShiftServiceFactory.Parameters parameters) {
+        OpenShiftCluster cluster = parameters.getCluster();
+        Config config = configOf(cluster, parameters.getIdentity(), parameters.getImpersonateUsername());
+        OkHttpClient clusterClient = clusterClients.computeIfAbsent(cluster.getApiUrl(), apiUrl -> createClusterClient(cluster));
+        OpenShiftConfig openShiftConfig = OpenShiftConfig.wrap(config);
+        OkHttpClient httpClient = clusterClient.newBuilder()
+                .addInterceptor(authorizationOf(clusterClient, openShiftConfig))
+                .addInterceptor(new ImpersonatorInterceptor(config))
+                // Calls to the cluster are guarded by the same bulkhead and circuit breaker as the other upstream hosts
+                .addInterceptor(ResilienceInterceptor.getInstance())
+                .build();
+        return new DefaultOpenShiftClient(httpClient, openShiftConfig);
+    }
+
+    private OkHttpClient createClusterClient(OpenShiftCluster cluster) {
+        Config config = configOf(cluster, null, null);
+        return HttpClientUtils.createHttpClient(config).newBuilder()
+                .eventListener(new EventListener() {
+                    @Override
+                    public void secureConnectEnd(Call call, @Nullable Handshake handshake) {
+                        handshakes.incrementAndGet();
+                    }
+                })
+                .build();
+    }
+
+    static Config configOf(OpenShiftCluster cluster, @Nullable Identity identity, @Nullable String impersonateUsername) {
+        ConfigBuilder configBuilder = new ConfigBuilder()
+                .withMasterUrl(cluster.getApiUrl())
+                //TODO Issue #17 never do this in production as it opens us to man-in-the-middle attacks
+                .withTrustCerts(true);
+        if (identity != null) {
+            identity.accept(new IdentityVisitor() {
+                @Override
+                public void visit(TokenIdentity token) {
+                    configBuilder.withOauthToken(token.getToken());
+                }
+
+                @Override
+                public void visit(UserPasswordIdentity userPassword) {
+                    configBuilder
+                            .withUsername(userPassword.getUsername())
+                            .withPassword(userPassword.getPassword());
+                }
+            });
+        }
+        final Config config = configBuilder.build();
+        if (impersonateUsername != null) {
+            // Impersonate the given user name (can be null)
+            RequestConfig requestConfig = config.getRequestConfig();
+            requestConfig.setImpersonateUsername(impersonateUsername);
+            requestConfig.setImpersonateGroups("system:authenticated", "system:authenticated:oauth");
+        }
+        return config;
+    }
+
+    /**
+     * User/password identities go through the OpenShift OAuth server, which trades them for a token,
+     * as {@code new DefaultOpenShiftClient(config)} does
+     */
+    private static Interceptor authorizationOf(OkHttpClient clusterClient, OpenShiftConfig config) {
+        if (config.getUsername() != null && config.getPassword() != null) {
+            return new OpenShiftOAuthInterceptor(clusterClient, config);
+        }
+        final String token = config.getOauthToken();
+        return chain -> token == null ? chain.proceed(chain.request()) :
+                chain.proceed(chain.request().newBuilder().header("Authorization", "Bearer " + token).build());
+    }
+
+    /**
+     * Credentials are hashed, so they are never kept in clear text as keys
+     */
+    static String keyOf(OpenShiftServiceFactory.Parameters parameters) {
+        StringBuilder credentials = new StringBuilder();
+        parameters.getIdentity().accept(new IdentityVisitor() {
+            @Override
+            public void visit(TokenIdentity token) {
+                credentials.append("token:").append(token.getToken());
+            }
+
+            @Override
+            public void visit(UserPasswordIdentity userPassword) {
+                credentials.append("basic:").append(userPassword.getUsername()).append(':').append(userPassword.getPassword());
+            }
+        });
+        return parameters.getCluster().getId() + '\n' +
+                parameters.getCluster().getApiUrl() + '\n' +
+                sha256Hex(credentials.toString()) + '\n' +
+                parameters.getImpersonateUsername();
+    }
+}
@@ -7,24 +7,33 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.security.Principal;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.fabric8.launcher.base.RefreshingCache;
 import io.fabric8.launcher.base.YamlUtils;
 import io.fabric8.launcher.base.http.HttpClient;
+import io.fabric8.launcher.base.http.HttpException;
 import io.fabric8.launcher.service.openshift.api.ImmutableOpenShiftCluster;
 import io.fabric8.launcher.service.openshift.api.OpenShiftCluster;
 import io.fabric8.launcher.service.openshift.api.OpenShiftClusterRegistry;
 import io.fabric8.launcher.service.openshift.api.OpenShiftEnvironment;
 import okhttp3.Request;
 
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
 import static io.fabric8.launcher.base.http.Requests.securedRequest;
 import static io.fabric8.launcher.base.identity.TokenIdentity.of;
 
@@ -40,6 +49,20 @@ public class OpenShiftClusterRegistryImpl implements OpenShiftClusterRegistry {
 
     private static final String SUBSCRIPTION_TOKEN = OpenShiftEnvironment.LAUNCHER_MISSIONCONTROL_OPENSHIFT_CLUSTERS_SUBSCRIPTION_TOKEN.value();
 
+    private static final long SUBSCRIPTION_TTL_SECONDS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_CLUSTER_SUBSCRIPTION_TTL_SECONDS", "60"));
+
+    private static final long SUBSCRIPTION_MAX_STALE_SECONDS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_CLUSTER_SUBSCRIPTION_MAX_STALE_SECONDS", "600"));
+
+    private static final int SUBSCRIPTION_ENTRIES = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_CLUSTER_SUBSCRIPTION_ENTRIES", "10000"));
+
+    /**
+     * The clusters each user is subscribed to, by principal name
+     */
+    private final RefreshingCache<String, Set<OpenShiftCluster>> subscriptions =
+            new RefreshingCache<>(TimeUnit.SECONDS.toMillis(SUBSCRIPTION_TTL_SECONDS),
+                                  TimeUnit.SECONDS.toMillis(SUBSCRIPTION_MAX_STALE_SECONDS),
+                                  SUBSCRIPTION_ENTRIES);
+
     @Inject
     public OpenShiftClusterRegistryImpl(HttpClient httpClient) {
         this.httpClient = httpClient;
@@ -79,6 +102,12 @@ public class OpenShiftClusterRegistryImpl implements OpenShiftClusterRegistry {
             clusters.add(defaultCluster);
         }
         this.clusters = Collections.unmodifiableSet(clusters);
+        Map<String, OpenShiftCluster> clustersById = new HashMap<>();
+        for (OpenShiftCluster cluster : clusters) {
+            // Keep the first cluster declared with a given id, like a linear scan would
+            clustersById.putIfAbsent(cluster.getId(), cluster);
+        }
+        this.clustersById = Collections.unmodifiableMap(clustersById);
     }
 
     public OpenShiftClusterRegistryImpl() {
@@ -87,6 +116,8 @@ public class OpenShiftClusterRegistryImpl implements OpenShiftClusterRegistry {
 
     private final Set<OpenShiftCluster> clusters;
 
+    private final Map<String, OpenShiftCluster> clustersById;
+
     private final OpenShiftCluster defaultCluster;
 
     @Override
@@ -99,21 +130,40 @@ public class OpenShiftClusterRegistryImpl implements OpenShiftClusterRegistry {
         return clusters;
     }
 
+    @Override
+    public Optional<OpenShiftCluster> findClusterById(String id) {
+        if (id == null) {
+            return Optional.of(getDefault());
+        }
+        return Optional.ofNullable(clustersById.get(id));
+    }
+
     @Override
     public Set<OpenShiftCluster> getSubscribedClusters(Principal principal) {
         if (SUBSCRIPTION_TOKEN == null || principal == null) {
             // Token does not exist or user is not authenticated, just return all clusters
             return getClusters();
         }
-        String url = String.format(CLUSTER_SUBSCRIPTION_PATTERN, principal.getName());
+        try {
+            return subscriptions.get(principal.getName(), this::fetchSubscribedClusters).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new HttpException("Error while fetching the subscriptions of " + principal.getName(), e.getCause());
+        }
+    }
+
+    private CompletableFuture<Set<OpenShiftCluster>> fetchSubscribedClusters(String principalName) {
+        String url = String.format(CLUSTER_SUBSCRIPTION_PATTERN, principalName);
         Request request = securedRequest(of(SUBSCRIPTION_TOKEN.trim())).url(url).build();
-        return httpClient.executeAndParseJson(request, tree -> {
+        return httpClient.executeAndParseJsonAsync(request, tree -> {
             Set<OpenShiftCluster> clusterSet = new HashSet<>();
             for (JsonNode subscription : tree.get("subscriptions")) {
                 String clusterId = subscription.get("plan").get("name").asText();
                 findClusterById(clusterId).ifPresent(clusterSet::add);
             }
-            return clusterSet;
-        }).orElseGet(this::getClusters);
+            return Collections.unmodifiableSet(clusterSet);
+        }).thenApply(result -> result.orElseGet(this::getClusters));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,137 @@
+package io.fabric8.launcher.service.openshift.impl;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.fabric8.launcher.base.LatencyHistogram;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Waits for newly-created projects to become visible, checking with an exponential backoff that starts at
+ * {@code LAUNCHER_OPENSHIFT_PROJECT_READY_INITIAL_DELAY_MILLIS} and is capped at
+ * {@code LAUNCHER_OPENSHIFT_PROJECT_READY_MAX_DELAY_MILLIS}, giving up after
+ * {@code LAUNCHER_OPENSHIFT_PROJECT_READY_TIMEOUT_SECONDS}.
+ * <p>
+ * Checks are scheduled, so no thread is blocked between them. The scheduler only keeps time: the checks themselves
+ * block on the API server, so they run on a separate pool of workers. The time each project took to be ready is kept
+ * per cluster.
+ */
+public class ProjectReadiness {
+
+    private static final Logger log = Logger.getLogger(ProjectReadiness.class.getName());
+
+    private static final long INITIAL_DELAY_MILLIS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_OPENSHIFT_PROJECT_READY_INITIAL_DELAY_MILLIS", "50"));
+
+    private static final long MAX_DELAY_MILLIS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_OPENSHIFT_PROJECT_READY_MAX_DELAY_MILLIS", "2000"));
+
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(Long.parseLong(getEnvVarOrSysProp("LAUNCHER_OPENSHIFT_PROJECT_READY_TIMEOUT_SECONDS", "30")));
+
+    private static final int WINDOW = 1024;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Executor workers;
+
+    private final long initialDelayMillis;
+
+    private final long maxDelayMillis;
+
+    private final long timeoutMillis;
+
+    private final Map<String, LatencyHistogram> readyTimes = new ConcurrentHashMap<>();
+
+    ProjectReadiness() {
+        this(INITIAL_DELAY_MILLIS, MAX_DELAY_MILLIS, TIMEOUT_MILLIS);
+    }
+
+    ProjectReadiness(long initialDelayMillis, long maxDelayMillis, long timeoutMillis) {
+        this(initialDelayMillis, maxDelayMillis, timeoutMillis, newWorkers());
+    }
+
+    ProjectReadiness(long initialDelayMillis, long maxDelayMillis, long timeoutMillis, Executor workers) {
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.workers = workers;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "project-readiness-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+    }
+
+    private static ExecutorService newWorkers() {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "project-readiness-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param clusterId the cluster the project was created in
+     * @param name      the project name, used in messages
+     * @param exists    checks if the project is visible
+     * @return a future completed once the project exists, or exceptionally with an {@link IllegalStateException}
+     * if it is not visible before the timeout
+     */
+    public CompletableFuture<Void> await(String clusterId, String name, BooleanSupplier exists) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        long start = System.currentTimeMillis();
+        // The project is often visible right away
+        check(result, clusterId, name, exists, start, initialDelayMillis);
+        return result;
+    }
+
+    /**
+     * @return the time-to-ready percentiles of each cluster, by cluster ID
+     */
+    public Map<String, LatencyHistogram> getReadyTimes() {
+        return unmodifiableMap(readyTimes);
+    }
+
+    private void check(CompletableFuture<Void> result, String clusterId, String name, BooleanSupplier exists,
+                       long start, long delay) {
+        try {
+            if (exists.getAsBoolean()) {
+                readyTimes.computeIfAbsent(clusterId, id -> new LatencyHistogram(WINDOW)).record(System.currentTimeMillis() - start);
+                result.complete(null);
+                return;
+            }
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - start >= timeoutMillis) {
+            result.completeExceptionally(new IllegalStateException("Newly-created project " + name + " could not be found"));
+            return;
+        }
+        long next = Math.min(delay, start + timeoutMillis - now);
+        log.log(Level.FINEST, "Could not find project {0} after creating; trying again in {1} ms", new Object[]{name, next});
+        scheduler.schedule(() -> {
+            try {
+                workers.execute(() -> check(result, clusterId, name, exists, start, Math.min(delay * 2, maxDelayMillis)));
+            } catch (RejectedExecutionException e) {
+                result.completeExceptionally(e);
+            }
+        }, next, TimeUnit.MILLISECONDS);
+    }
+}
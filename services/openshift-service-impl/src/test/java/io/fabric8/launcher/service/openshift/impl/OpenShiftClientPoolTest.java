@@ -0,0 +1,48 @@
+package io.fabric8.launcher.service.openshift.impl;
+
+import io.fabric8.launcher.base.identity.TokenIdentity;
+import io.fabric8.launcher.service.openshift.api.ImmutableOpenShiftCluster;
+import io.fabric8.launcher.service.openshift.api.ImmutableParameters;
+import io.fabric8.launcher.service.openshift.api.OpenShiftCluster;
+import io.fabric8.launcher.service.openshift.api.OpenShiftServiceFactory;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class OpenShiftClientPoolTest {
+
+    private static final OpenShiftCluster CLUSTER = ImmutableOpenShiftCluster.builder()
+            .id("openshift-v4")
+            .apiUrl("https://localhost:8443")
+            .build();
+
+    private final OpenShiftClientPool pool = new OpenShiftClientPool();
+
+    @Test
+    public void should_reuse_client_for_same_identity() {
+        assertThat(pool.getClient(parameters("token", null))).isSameAs(pool.getClient(parameters("token", null)));
+        assertThat(pool.getLiveClients()).isEqualTo(1);
+        assertThat(pool.getReuseRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void should_not_share_clients_between_identities_or_impersonated_users() {
+        assertThat(pool.getClient(parameters("token", null)))
+                .isNotSameAs(pool.getClient(parameters("another-token", null)))
+                .isNotSameAs(pool.getClient(parameters("token", "john")));
+        assertThat(pool.getLiveClients()).isEqualTo(3);
+    }
+
+    @Test
+    public void should_not_keep_credentials_in_keys() {
+        assertThat(OpenShiftClientPool.keyOf(parameters("secret-token", null))).doesNotContain("secret-token");
+    }
+
+    private static OpenShiftServiceFactory.Parameters parameters(String token, String impersonateUsername) {
+        return ImmutableParameters.builder()
+                .cluster(CLUSTER)
+                .identity(TokenIdentity.of(token))
+                .impersonateUsername(impersonateUsername)
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package io.fabric8.launcher.service.openshift.impl;
 
 import java.io.File;
 
+import io.fabric8.launcher.service.openshift.api.OpenShiftCluster;
 import io.fabric8.launcher.service.openshift.api.OpenShiftClusterRegistry;
 import io.fabric8.launcher.service.openshift.api.OpenShiftEnvironment;
 import org.junit.Before;
@@ -70,4 +71,21 @@ public class OpenShiftClusterRegistryTest {
                 .hasFieldOrPropertyWithValue("apiUrl", "https://api.online-int.openshift.com/")
                 .hasFieldOrPropertyWithValue("consoleUrl", "https://console.online-int.openshift.com/console");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindUnknownClusterIsEmpty() {
+        assertThat(registry.findClusterById("unknown-cluster")).isEmpty();
+    }
+
+    @Test
+    public void testFindClusterByIdReturnsRegisteredInstance() {
+        for (OpenShiftCluster cluster : registry.getClusters()) {
+            assertThat(registry.findClusterById(cluster.getId())).containsSame(cluster);
+        }
+    }
+
+    @Test
+    public void testSubscribedClustersWithoutPrincipalAreAllClusters() {
+        assertThat(registry.getSubscribedClusters(null)).isSameAs(registry.getClusters());
+    }
+}
@@ -0,0 +1,57 @@
+package io.fabric8.launcher.service.openshift.impl;
+
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ProjectReadinessTest {
+
+    @Test
+    public void shouldCompleteAsSoonAsTheProjectExists() {
+        ProjectReadiness readiness = new ProjectReadiness(1, 10, 5_000);
+        AtomicInteger checks = new AtomicInteger();
+
+        readiness.await("cluster", "foo", () -> checks.incrementAndGet() == 3).join();
+
+        assertThat(checks).hasValue(3);
+        assertThat(readiness.getReadyTimes().get("cluster").getCount()).isEqualTo(1);
+        assertThat(readiness.getReadyTimes().get("cluster").getPercentile(100)).isLessThan(1_000);
+    }
+
+    @Test
+    public void shouldNotWaitWhenTheProjectIsVisibleRightAway() {
+        ProjectReadiness readiness = new ProjectReadiness(1_000, 1_000, 5_000);
+
+        assertThat(readiness.await("cluster", "foo", () -> true)).isDone();
+    }
+
+    @Test
+    public void shouldRunTheScheduledChecksOnTheWorkers() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ProjectReadiness readiness = new ProjectReadiness(1, 10, 5_000, command -> new Thread(command, "worker").start());
+        AtomicInteger checks = new AtomicInteger();
+
+        readiness.await("cluster", "foo", () -> {
+            threads.add(Thread.currentThread().getName());
+            return checks.incrementAndGet() == 3;
+        }).join();
+
+        assertThat(threads).contains("worker").doesNotContain("project-readiness-timer");
+    }
+
+    @Test
+    public void shouldFailAfterTheTimeout() {
+        ProjectReadiness readiness = new ProjectReadiness(1, 10, 100);
+
+        assertThatThrownBy(() -> readiness.await("cluster", "foo", () -> false).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(readiness.getReadyTimes()).doesNotContainKey("cluster");
+    }
+}
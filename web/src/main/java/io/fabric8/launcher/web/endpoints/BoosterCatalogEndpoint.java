@@ -1,7 +1,12 @@
 package io.fabric8.launcher.web.endpoints;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Predicate;
 
@@ -9,11 +14,15 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
@@ -22,18 +31,23 @@ import javax.ws.rs.core.UriInfo;
 
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.fabric8.launcher.base.JsonUtils;
 import io.fabric8.launcher.booster.catalog.rhoar.Mission;
 import io.fabric8.launcher.booster.catalog.rhoar.RhoarBooster;
 import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalog;
 import io.fabric8.launcher.booster.catalog.rhoar.Runtime;
 import io.fabric8.launcher.booster.catalog.rhoar.Version;
 import io.fabric8.launcher.core.api.catalog.BoosterCatalogFactory;
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogIndex;
+import io.fabric8.launcher.web.providers.BoosterCatalogResponseCache;
+import io.fabric8.launcher.web.providers.BoosterCatalogResponseCache.CatalogResponse;
 
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
 import static io.fabric8.launcher.base.JsonUtils.createArrayNode;
 import static io.fabric8.launcher.base.JsonUtils.createObjectNode;
 import static io.fabric8.launcher.base.JsonUtils.toObjectNode;
 import static io.fabric8.launcher.booster.catalog.rhoar.BoosterPredicates.withParameters;
-import static io.fabric8.launcher.booster.catalog.rhoar.BoosterPredicates.withRuntime;
+import static io.fabric8.launcher.web.providers.EntityTags.matchesIfNoneMatch;
 
 /**
  * @author <a href="mailto:ggastald@redhat.com">George Gastaldi</a>
@@ -42,24 +56,58 @@ import static io.fabric8.launcher.booster.catalog.rhoar.BoosterPredicates.withRu
 @ApplicationScoped
 public class BoosterCatalogEndpoint {
 
+    private static final int CATALOG_MAX_AGE_SECONDS = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_CATALOG_RESPONSE_MAX_AGE_SECONDS", "60"));
+
     @Inject
     BoosterCatalogFactory boosterCatalogFactory;
 
+    @Inject
+    BoosterCatalogResponseCache responseCache;
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    @SuppressWarnings("squid:S3776")
-    public Response getCatalog(@Context UriInfo uriInfo) {
+    public Response getCatalog(@Context UriInfo uriInfo,
+                               @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         MultivaluedMap<String, String> parameters = getQueryParameters(uriInfo);
-        RhoarBoosterCatalog catalog = boosterCatalogFactory.getBoosterCatalog();
+        BoosterCatalogIndex index = boosterCatalogFactory.getCatalogIndex();
+        CatalogResponse response = responseCache.get(index, parameters, () -> serialize(index, parameters));
+        EntityTag etag = response.getEtag();
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge(CATALOG_MAX_AGE_SECONDS);
+        if (matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return Response.notModified(etag).cacheControl(cacheControl).build();
+        }
+        return Response.ok(response.getBody(), MediaType.APPLICATION_JSON_TYPE)
+                .tag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    private static byte[] serialize(BoosterCatalogIndex index, MultivaluedMap<String, String> parameters) {
+        try {
+            return JsonUtils.toString(buildCatalog(index, parameters)).getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error while serializing the booster catalog", e);
+        }
+    }
+
+    @SuppressWarnings("squid:S3776")
+    private static ObjectNode buildCatalog(BoosterCatalogIndex index, MultivaluedMap<String, String> parameters) {
+        RhoarBoosterCatalog catalog = index.getCatalog();
 
         Predicate<RhoarBooster> filter = withParameters(parameters);
 
         final ObjectNode response = createObjectNode();
         final ArrayNode boosterArray = createArrayNode();
+        // The runtime versions of the filtered boosters, so versions are not filtered again for each runtime
+        final Set<String> runtimeVersions = new HashSet<>();
 
         for (RhoarBooster b : catalog.getBoosters(filter)) {
             Map<String, Object> data = b.getExportableData();
             boosterArray.add(toObjectNode(data));
+            if (b.getRuntime() != null && b.getVersion() != null) {
+                runtimeVersions.add(b.getRuntime().getId() + '\n' + b.getVersion().getId());
+            }
         }
         response.set("boosters", boosterArray);
 
@@ -81,7 +129,10 @@ public class BoosterCatalogEndpoint {
 
             //Add versions
             final ArrayNode versionArray = createArrayNode();
-            for (Version v : catalog.getVersions(filter.and(withRuntime(r)))) {
+            for (Version v : index.getVersions(r)) {
+                if (!runtimeVersions.contains(r.getId() + '\n' + v.getId())) {
+                    continue;
+                }
                 ObjectNode version = createObjectNode()
                         .put("id", v.getId())
                         .put("name", v.getName());
@@ -112,7 +163,7 @@ public class BoosterCatalogEndpoint {
         }
         response.set("missions", missionArray);
 
-        return Response.ok(response).build();
+        return response;
     }
 
     /**
@@ -129,11 +180,45 @@ public class BoosterCatalogEndpoint {
         if (boosterCatalogFactory.isIndexing()) {
             return Response.status(Response.Status.NOT_MODIFIED).build();
         } else {
-            boosterCatalogFactory.reset();
+            // The current catalog is served until the new one is swapped in
+            boosterCatalogFactory.reindex();
         }
         return Response.ok().build();
     }
 
+    /**
+     * @return the hits, misses and number of variants of the serialized catalog responses
+     */
+    @GET
+    @Path("/response-cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    public ObjectNode getResponseCacheStatistics() {
+        return createObjectNode()
+                .put("hits", responseCache.getHits())
+                .put("misses", responseCache.getMisses())
+                .put("variants", responseCache.getSize());
+    }
+
+    /**
+     * @return whether the catalog is being indexed and the outcome of the last reindex
+     */
+    @GET
+    @Path("/reindex")
+    @Produces(MediaType.APPLICATION_JSON)
+    public ObjectNode getReindexStatus() {
+        ObjectNode status = createObjectNode()
+                .put("indexing", boosterCatalogFactory.isIndexing());
+        boosterCatalogFactory.getLastReindex().ifPresent(reindex -> status.putObject("lastReindex")
+                .put("ref", reindex.getRef())
+                .put("commit", reindex.getCommit())
+                .put("unchanged", reindex.isUnchanged())
+                .put("durationMillis", reindex.getDurationMillis())
+                .put("added", reindex.getAdded())
+                .put("removed", reindex.getRemoved())
+                .put("updated", reindex.getUpdated()));
+        return status;
+    }
+
     /**
      * Used in integration tests
      */
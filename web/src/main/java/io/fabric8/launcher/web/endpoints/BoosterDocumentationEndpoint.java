@@ -12,6 +12,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
 import io.fabric8.launcher.core.api.documentation.BoosterDocumentationStore;
+import io.fabric8.launcher.web.providers.BoosterZipCache;
 
 @Path("/booster-documentation")
 @ApplicationScoped
@@ -20,6 +21,9 @@ public class BoosterDocumentationEndpoint {
     @Inject
     BoosterDocumentationStore boosterDocumentationStore;
 
+    @Inject
+    BoosterZipCache zipCache;
+
 
     /**
      * Reload the documentation. To be called once a change in the booster-documentation happens (webhook)
@@ -32,7 +36,8 @@ public class BoosterDocumentationEndpoint {
         if (!Objects.equals(token, System.getenv("LAUNCHER_BACKEND_DOCUMENTATION_RELOAD_TOKEN"))) {
             return Response.status(Response.Status.UNAUTHORIZED).build();
         }
-        boosterDocumentationStore.reloadDocumentation();
+        // Generated zips contain the documentation
+        boosterDocumentationStore.reloadDocumentation().thenRun(zipCache::invalidate);
         return Response.ok().build();
     }
 
@@ -132,7 +132,7 @@ public class CreatorEndpoint extends AbstractLaunchEndpoint {
         return ApplyKt.withDeployment(deployment, projectLocation -> {
             String appName = deployment.getApplications().get(0).getApplication();
             try {
-                java.nio.file.Path tmp = Files.createTempFile("creator-", ".zip");
+                java.nio.file.Path tmp = Paths.createTempFile("creator-", ".zip");
                 try (OutputStream out = Files.newOutputStream(tmp)) {
                     Paths.zip(appName, projectLocation, out);
                     String key = UUID.randomUUID().toString();
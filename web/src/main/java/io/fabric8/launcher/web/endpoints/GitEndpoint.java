@@ -1,6 +1,8 @@
 package io.fabric8.launcher.web.endpoints;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -17,8 +19,11 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 
+import io.fabric8.launcher.base.http.HttpClient;
 import io.fabric8.launcher.core.api.security.Secured;
+import io.fabric8.launcher.service.git.GitHttpClients;
 import io.fabric8.launcher.service.git.OAuthTokenProvider;
+import io.fabric8.launcher.service.git.RepositoryVisibility;
 import io.fabric8.launcher.service.git.api.GitOrganization;
 import io.fabric8.launcher.service.git.api.GitRepository;
 import io.fabric8.launcher.service.git.api.GitRepositoryFilter;
@@ -46,6 +51,9 @@ public class GitEndpoint {
     @Inject
     OAuthTokenProvider.Factory tokenProviderFactory;
 
+    @Inject
+    HttpClient httpClient;
+
     @GET
     @Path("/providers")
     @Produces(MediaType.APPLICATION_JSON)
@@ -108,4 +116,41 @@ public class GitEndpoint {
         String token = tokenProviderFactory.getProvider(config).getToken(code, config);
         return Response.ok(token).build();
     }
+
+    /**
+     * @return how long the created repositories took to become visible (count and percentiles in ms), by Git provider
+     */
+    @GET
+    @Path("/repository-visibility")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Map<String, Long>> getRepositoryVisibility() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        RepositoryVisibility.getInstance().getLatencies()
+                .forEach((provider, latencies) -> result.put(provider, latencies.getSummary()));
+        return result;
+    }
+
+    /**
+     * @return the upstream calls made by the shared and the Git HTTP clients, and how many were coalesced or revalidated
+     */
+    @GET
+    @Path("/http-client")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Long> getHttpClientStatistics() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        addStatistics(result, "", httpClient);
+        HttpClient git = GitHttpClients.of(httpClient);
+        addStatistics(result, "git.", git);
+        git.getConditionalRequestCache().ifPresent(cache -> {
+            result.put("git.revalidated", cache.getRevalidated());
+            result.put("git.misses", cache.getMisses());
+        });
+        return result;
+    }
+
+    private static void addStatistics(Map<String, Long> result, String prefix, HttpClient client) {
+        result.put(prefix + "upstreamCalls", client.getUpstreamCalls());
+        result.put(prefix + "coalescedCalls", client.getCoalescedCalls());
+        result.put(prefix + "inFlightCalls", (long) client.getInFlightCalls());
+    }
 }
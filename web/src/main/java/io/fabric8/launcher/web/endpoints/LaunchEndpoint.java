@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 
 import javax.enterprise.context.RequestScoped;
@@ -21,9 +23,11 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.container.AsyncResponse;
 import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import io.fabric8.launcher.base.Paths;
 import io.fabric8.launcher.core.api.DefaultMissionControl;
@@ -37,8 +41,12 @@ import io.fabric8.launcher.core.spi.ProjectilePreparer;
 import io.fabric8.launcher.web.endpoints.inputs.LaunchProjectileInput;
 import io.fabric8.launcher.web.endpoints.inputs.UploadZipProjectileInput;
 import io.fabric8.launcher.web.endpoints.inputs.DownloadZipProjectileInput;
+import io.fabric8.launcher.web.providers.BoosterZipCache;
+import io.fabric8.launcher.web.providers.DirectoryReaperImpl;
 import org.jboss.resteasy.annotations.providers.multipart.MultipartForm;
 
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.web.providers.EntityTags.matchesIfNoneMatch;
 import static java.util.Arrays.asList;
 
 /**
@@ -50,6 +58,10 @@ public class LaunchEndpoint extends AbstractLaunchEndpoint {
 
     private static final String APPLICATION_ZIP = "application/zip";
 
+    private static final int UPLOAD_MAX_ENTRIES = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_UPLOAD_MAX_ENTRIES", "20000"));
+
+    private static final long UPLOAD_MAX_EXPANDED_SIZE = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_UPLOAD_MAX_EXPANDED_SIZE", String.valueOf(512L * 1024 * 1024)));
+
     @Inject
     DefaultMissionControl missionControl;
 
@@ -59,25 +71,77 @@ public class LaunchEndpoint extends AbstractLaunchEndpoint {
     @Inject
     Instance<ProjectilePreparer> preparers;
 
+    @Inject
+    BoosterZipCache zipCache;
+
+    @Inject
+    DirectoryReaperImpl directoryReaper;
+
     @GET
     @Path("/zip")
     @Produces(APPLICATION_ZIP)
-    public Response zip(@Valid @BeanParam DownloadZipProjectileInput zipProjectile) throws IOException {
-        CreateProjectile projectile = null;
-        try {
-            projectile = missionControl.prepare(zipProjectile);
-            String filename = Objects.toString(zipProjectile.getProjectName(), zipProjectile.getArtifactId());
-            byte[] zipContents = Paths.zip(filename, projectile.getProjectLocation());
+    public Response zip(@Valid @BeanParam DownloadZipProjectileInput zipProjectile,
+                        @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) throws IOException {
+        String filename = Objects.toString(zipProjectile.getProjectName(), zipProjectile.getArtifactId());
+        String key = zipCache.keyOf(zipProjectile, filename);
+        if (key == null) {
+            // The catalog or documentation version is unknown, so the zip can neither be cached nor tagged
+            CreateProjectile projectile = missionControl.prepare(zipProjectile);
             return Response
-                    .ok(zipContents)
+                    .ok(new ZipStreamingOutput(filename, projectile.getProjectLocation(), reaper))
                     .type(APPLICATION_ZIP)
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + ".zip\"")
                     .build();
-        } finally {
-            if (projectile != null) {
-                reaper.delete(projectile.getProjectLocation());
-            }
         }
+        // Weak, as the entries of zips generated again for the same key have other modification times
+        EntityTag etag = new EntityTag(key, true);
+        if (matchesIfNoneMatch(ifNoneMatch, etag)) {
+            return Response.notModified(etag).build();
+        }
+        StreamingOutput zipContents = zipCache.get(key);
+        if (zipContents == null) {
+            CreateProjectile projectile = missionControl.prepare(zipProjectile);
+            // The project location is deleted by the reaper once the zip is fully streamed
+            zipContents = new ZipStreamingOutput(filename, projectile.getProjectLocation(), reaper,
+                                                 zipCache.maxEntrySize(), contents -> zipCache.put(key, contents));
+        }
+        return Response
+                .ok(zipContents)
+                .type(APPLICATION_ZIP)
+                .tag(etag)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + ".zip\"")
+                .build();
+    }
+
+    /**
+     * @return the hits and misses of the zip cache
+     */
+    @GET
+    @Path("/zip-cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Long> getZipCacheStatistics() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("hits", zipCache.getHits());
+        result.put("diskHits", zipCache.getDiskHits());
+        result.put("misses", zipCache.getMisses());
+        return result;
+    }
+
+    /**
+     * @return the queue depth, bytes freed and latency of the directory reaper
+     */
+    @GET
+    @Path("/directory-reaper")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Long> getDirectoryReaperStatistics() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("queueDepth", (long) directoryReaper.getQueueDepth());
+        result.put("deleted", directoryReaper.getDeleted());
+        result.put("bytesFreed", directoryReaper.getBytesFreed());
+        result.put("callerDeletions", directoryReaper.getCallerDeletions());
+        result.put("averageLatencyMillis", directoryReaper.getAverageLatencyMillis());
+        result.put("maxLatencyMillis", directoryReaper.getMaxLatencyMillis());
+        return result;
     }
 
     @POST
@@ -111,8 +175,13 @@ public class LaunchEndpoint extends AbstractLaunchEndpoint {
                           @DefaultValue("0") int executionStep,
                           @Suspended AsyncResponse asyncResponse,
                           @Context HttpServletResponse response) throws IOException {
-        java.nio.file.Path projectDir = Files.createTempDirectory("projectDir");
-        Paths.unzip(input.getZipContents(), projectDir);
+        java.nio.file.Path projectDir = Paths.createTempDirectory("projectDir");
+        try {
+            Paths.unzip(input.getZipContents(), projectDir, UPLOAD_MAX_ENTRIES, UPLOAD_MAX_EXPANDED_SIZE);
+        } catch (IOException | RuntimeException e) {
+            reaper.delete(projectDir);
+            throw e;
+        }
         java.nio.file.Path projectLocation;
         try (DirectoryStream<java.nio.file.Path> stream =
                      Files.newDirectoryStream(projectDir)) {
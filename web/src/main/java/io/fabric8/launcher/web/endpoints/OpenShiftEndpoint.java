@@ -1,10 +1,13 @@
 package io.fabric8.launcher.web.endpoints;
 
+import java.io.IOException;
+import java.security.Principal;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
 
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.inject.Instance;
@@ -16,11 +19,14 @@ import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.spotify.futures.CompletableFutures;
 import io.fabric8.kubernetes.client.KubernetesClientException;
@@ -34,7 +40,11 @@ import io.fabric8.launcher.service.openshift.api.OpenShiftClusterRegistry;
 import io.fabric8.launcher.service.openshift.api.OpenShiftService;
 import io.fabric8.launcher.service.openshift.api.OpenShiftServiceFactory;
 import io.fabric8.launcher.service.openshift.api.OpenShiftUser;
+import io.fabric8.launcher.service.openshift.impl.Fabric8OpenShiftServiceFactory;
+import io.fabric8.launcher.service.openshift.impl.OpenShiftClientPool;
+import io.fabric8.launcher.web.providers.ClusterVerificationCache;
 
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -59,6 +69,12 @@ public class OpenShiftEndpoint {
     @Inject
     Instance<TokenIdentity> authorizationInstance;
 
+    @Inject
+    ClusterVerificationCache verificationCache;
+
+    @Inject
+    Fabric8OpenShiftServiceFactory fabric8OpenShiftServiceFactory;
+
     @Context
     SecurityContext securityContext;
 
@@ -66,7 +82,8 @@ public class OpenShiftEndpoint {
     @Path("/clusters")
     @Produces(MediaType.APPLICATION_JSON)
     @Secured
-    public Collection<ClusterVerified> getSupportedOpenShiftClusters(@HeaderParam("X-OpenShift-Authorization") String openShiftAuth) throws ExecutionException, InterruptedException {
+    public void getSupportedOpenShiftClusters(@HeaderParam("X-OpenShift-Authorization") String openShiftAuth,
+                                              @Suspended AsyncResponse asyncResponse) {
         final Identity authorization;
         final IdentityProvider identityProvider;
         if (openShiftAuth != null) {
@@ -79,25 +96,51 @@ public class OpenShiftEndpoint {
             authorization = authorizationInstance.get();
             identityProvider = identityProviderInstance.get();
         }
+        final Principal principal = securityContext.getUserPrincipal();
+        // The credentials are part of the key: the verification is only valid for them
+        final String key = (principal == null ? "" : principal.getName()) + '\n' + sha256Hex(authorization.toRequestAuthorization());
+        verificationCache.<ClusterVerified>get(key, k -> verifyClusters(k, principal, authorization, identityProvider))
+                .whenComplete((clusters, e) -> {
+                    if (e != null) {
+                        asyncResponse.resume(e);
+                    } else {
+                        asyncResponse.resume(clusters);
+                    }
+                });
+    }
+
+    private CompletableFuture<Collection<ClusterVerified>> verifyClusters(String key, Principal principal, Identity authorization,
+                                                                          IdentityProvider identityProvider) {
+        // Only application scoped beans are used, as this may run after the request is over
+        final OpenShiftServiceFactory serviceFactory = openShiftServiceFactory;
+        final ClusterVerificationCache cache = verificationCache;
         List<CompletableFuture<ClusterVerified>> futures =
-                clusterRegistry.getSubscribedClusters(securityContext.getUserPrincipal()).stream()
+                clusterRegistry.getSubscribedClusters(principal).stream()
                         .map(cluster -> identityProvider.getIdentityAsync(authorization, cluster.getId())
                                 .thenApply(
-                                        identity -> identity.map(value -> getClusterVerified(cluster, value))
+                                        identity -> identity.map(value -> getClusterVerified(serviceFactory, cluster, value))
                                                 .orElseGet(() -> new ClusterVerified(cluster, false))))
                         .collect(toList());
-        return CompletableFutures.allAsList(futures).get();
+        return CompletableFutures.allAsList(futures).<Collection<ClusterVerified>>thenApply(clusters -> {
+            if (clusters.stream().anyMatch(c -> c.unreachable)) {
+                // Do not keep a result caused by a connection failure
+                cache.invalidate(key);
+            }
+            return clusters;
+        });
     }
 
-    private ClusterVerified getClusterVerified(OpenShiftCluster cluster, Identity identity) {
+    private static ClusterVerified getClusterVerified(OpenShiftServiceFactory serviceFactory, OpenShiftCluster cluster, Identity identity) {
         final ImmutableParameters.Builder builder = ImmutableParameters.builder().cluster(cluster).identity(identity);
-        final OpenShiftService service = openShiftServiceFactory.create(builder.build());
+        final OpenShiftService service = serviceFactory.create(builder.build());
         try {
             service.getLoggedUser();
             return new ClusterVerified(cluster, true);
         } catch (KubernetesClientException e) {
             //means that we have an invalid token e.g. cluster got deprovisioned
-            return new ClusterVerified(cluster, false);
+            ClusterVerified verified = new ClusterVerified(cluster, false);
+            verified.unreachable = e.getCause() instanceof IOException;
+            return verified;
         }
     }
 
@@ -109,6 +152,35 @@ public class OpenShiftEndpoint {
         return clusterRegistry.getClusters();
     }
 
+    /**
+     * @return how long the created projects took to be visible (count and percentiles in ms), by cluster ID
+     */
+    @GET
+    @Path("/project-readiness")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Map<String, Long>> getProjectReadiness() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        fabric8OpenShiftServiceFactory.getProjectReadiness().getReadyTimes()
+                .forEach((clusterId, readyTimes) -> result.put(clusterId, readyTimes.getSummary()));
+        return result;
+    }
+
+    /**
+     * @return how the pooled OpenShift clients are reused
+     */
+    @GET
+    @Path("/client-pool")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Map<String, Object> getClientPool() {
+        OpenShiftClientPool pool = fabric8OpenShiftServiceFactory.getClientPool();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("liveClients", pool.getLiveClients());
+        result.put("createdClients", pool.getCreatedClients());
+        result.put("reusedClients", pool.getReusedClients());
+        result.put("reuseRatio", pool.getReuseRatio());
+        result.put("handshakes", pool.getHandshakes());
+        return result;
+    }
 
     @HEAD
     @Secured
@@ -140,6 +212,12 @@ public class OpenShiftEndpoint {
         @JsonProperty
         final OpenShiftCluster cluster;
 
+        /**
+         * The cluster could not be reached, as opposed to rejecting the credentials
+         */
+        @JsonIgnore
+        boolean unreachable;
+
         private ClusterVerified(OpenShiftCluster cluster, boolean connected) {
             this.cluster = cluster;
             this.connected = connected;
@@ -0,0 +1,171 @@
+package io.fabric8.launcher.web.endpoints;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import io.fabric8.launcher.base.Paths;
+import io.fabric8.launcher.core.spi.DirectoryReaper;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+
+/**
+ * Writes a zipped directory straight to the response {@link OutputStream}, entry by entry,
+ * instead of buffering the whole archive in memory.
+ * <p>
+ * The directory is handed over to the {@link DirectoryReaper} once the stream is closed,
+ * or after {@code LAUNCHER_ZIP_UNWRITTEN_TIMEOUT_SECONDS} if the entity is never written
+ * (eg. the client went away before the response was committed, or the request failed after this was created).
+ */
+class ZipStreamingOutput implements StreamingOutput {
+
+    private static final Logger log = Logger.getLogger(ZipStreamingOutput.class.getName());
+
+    private static final long UNWRITTEN_TIMEOUT_SECONDS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_ZIP_UNWRITTEN_TIMEOUT_SECONDS", "300"));
+
+    private static final ScheduledThreadPoolExecutor REAP_UNWRITTEN = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread thread = new Thread(r, "zip-unwritten-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        REAP_UNWRITTEN.setRemoveOnCancelPolicy(true);
+    }
+
+    private final String root;
+
+    private final Path directory;
+
+    private final DirectoryReaper reaper;
+
+    private final int captureLimit;
+
+    private final Consumer<byte[]> onComplete;
+
+    /**
+     * Set by whoever deletes the directory first: {@link #write(OutputStream)} or the unwritten timeout
+     */
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    private final ScheduledFuture<?> unwrittenTimeout;
+
+    ZipStreamingOutput(String root, Path directory, DirectoryReaper reaper) {
+        this(root, directory, reaper, 0, null);
+    }
+
+    /**
+     * @param captureLimit the maximum size of a zip to be handed to onComplete
+     * @param onComplete   receives the zip contents once it is fully written, unless bigger than captureLimit
+     */
+    ZipStreamingOutput(String root, Path directory, DirectoryReaper reaper, int captureLimit, Consumer<byte[]> onComplete) {
+        this.root = root;
+        this.directory = directory;
+        this.reaper = reaper;
+        this.captureLimit = captureLimit;
+        this.onComplete = onComplete;
+        this.unwrittenTimeout = REAP_UNWRITTEN.schedule(this::reapUnwritten, UNWRITTEN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void write(OutputStream output) throws IOException {
+        if (!claimed.compareAndSet(false, true)) {
+            throw new IOException("Project directory of " + root + " was already deleted");
+        }
+        unwrittenTimeout.cancel(false);
+        long start = System.nanoTime();
+        MeteredOutputStream os = new MeteredOutputStream(output, start, onComplete == null ? 0 : captureLimit);
+        try {
+            Paths.zip(root, directory, os);
+            if (onComplete != null && os.captured != null) {
+                onComplete.accept(os.captured.toByteArray());
+            }
+        } finally {
+            reaper.delete(directory);
+            if (log.isLoggable(Level.FINE)) {
+                log.log(Level.FINE, "Streamed {0} ({1} bytes). First byte after {2} ms, total {3} ms",
+                        new Object[]{root, os.count, os.firstByteMillis(), elapsedMillis(start)});
+            }
+        }
+    }
+
+    private void reapUnwritten() {
+        if (claimed.compareAndSet(false, true)) {
+            log.log(Level.FINE, "Zip of {0} was never written, deleting {1}", new Object[]{root, directory});
+            reaper.delete(directory);
+        }
+    }
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Counts the bytes written and records when the first one went out.
+     * Keeps a copy of the bytes written while they do not exceed the capture limit
+     */
+    private static class MeteredOutputStream extends FilterOutputStream {
+
+        private final long start;
+
+        private long firstByte = -1;
+
+        private final int captureLimit;
+
+        private long count;
+
+        private ByteArrayOutputStream captured;
+
+        MeteredOutputStream(OutputStream out, long start, int captureLimit) {
+            super(out);
+            this.start = start;
+            this.captureLimit = captureLimit;
+            if (captureLimit > 0) {
+                this.captured = new ByteArrayOutputStream();
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            mark(1);
+            if (captured != null) {
+                captured.write(b);
+            }
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            mark(len);
+            if (captured != null) {
+                captured.write(b, off, len);
+            }
+            out.write(b, off, len);
+        }
+
+        private void mark(int len) {
+            if (firstByte < 0) {
+                firstByte = System.nanoTime();
+            }
+            count += len;
+            if (count > captureLimit) {
+                captured = null;
+            }
+        }
+
+        long firstByteMillis() {
+            return firstByte < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(firstByte - start);
+        }
+    }
+}
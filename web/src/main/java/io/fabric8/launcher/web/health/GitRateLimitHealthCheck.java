@@ -0,0 +1,32 @@
+package io.fabric8.launcher.web.health;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import io.fabric8.launcher.service.git.RateLimitScheduler;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Liveness;
+
+/**
+ * Exposes the rate limit budget and queue depth of each Git provider token in the health endpoint
+ */
+@Liveness
+@ApplicationScoped
+public class GitRateLimitHealthCheck implements HealthCheck {
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("git-rate-limit");
+        long rejected = 0;
+        for (RateLimitScheduler.Budget budget : RateLimitScheduler.getInstance().getBudgets()) {
+            String prefix = budget.getName() + '.';
+            builder.withData(prefix + "limit", budget.getLimit())
+                    .withData(prefix + "remaining", budget.getRemaining())
+                    .withData(prefix + "resetAtMillis", budget.getResetAtMillis())
+                    .withData(prefix + "rejected", budget.getRejected());
+            rejected += budget.getRejected();
+        }
+        return builder.withData("rejected", rejected).up().build();
+    }
+}
@@ -0,0 +1,31 @@
+package io.fabric8.launcher.web.health;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import io.fabric8.launcher.base.http.ResilienceInterceptor;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.HealthCheckResponseBuilder;
+import org.eclipse.microprofile.health.Liveness;
+
+/**
+ * Exposes the circuit breaker state, active calls and rejections of each upstream host in the health endpoint.
+ * <p>
+ * Always reports UP: an open breaker means an upstream is degraded, restarting the launcher would not help
+ */
+@Liveness
+@ApplicationScoped
+public class UpstreamHealthCheck implements HealthCheck {
+
+    @Override
+    public HealthCheckResponse call() {
+        HealthCheckResponseBuilder builder = HealthCheckResponse.named("upstreams");
+        for (ResilienceInterceptor.Upstream upstream : ResilienceInterceptor.getInstance().getUpstreams()) {
+            String prefix = upstream.getHost() + '.';
+            builder.withData(prefix + "state", upstream.getState())
+                    .withData(prefix + "activeCalls", upstream.getActiveCalls())
+                    .withData(prefix + "rejected", upstream.getRejected());
+        }
+        return builder.up().build();
+    }
+}
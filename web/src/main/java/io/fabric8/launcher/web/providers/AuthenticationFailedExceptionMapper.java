@@ -1,16 +1,37 @@
 package io.fabric8.launcher.web.providers;
 
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.enterprise.inject.Instance;
+import javax.inject.Inject;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.ExceptionMapper;
 import javax.ws.rs.ext.Provider;
 
+import io.fabric8.launcher.base.identity.TokenIdentity;
+import io.fabric8.launcher.core.spi.IdentityProvider;
 import io.fabric8.launcher.service.git.api.AuthenticationFailedException;
 
 @Provider
 public class AuthenticationFailedExceptionMapper implements ExceptionMapper<AuthenticationFailedException> {
 
+    private static final Logger log = Logger.getLogger(AuthenticationFailedExceptionMapper.class.getName());
+
+    @Inject
+    Instance<IdentityProvider> identityProvider;
+
+    @Inject
+    Instance<TokenIdentity> authorization;
+
     @Override
     public Response toResponse(AuthenticationFailedException exception) {
+        // The brokered token was probably revoked, do not keep using it
+        try {
+            identityProvider.get().invalidate(authorization.get());
+        } catch (RuntimeException e) {
+            log.log(Level.FINE, "Could not invalidate the brokered identities", e);
+        }
         return Response.status(Response.Status.UNAUTHORIZED).build();
     }
 }
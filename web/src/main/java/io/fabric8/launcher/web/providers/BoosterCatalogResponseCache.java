@@ -0,0 +1,130 @@
+package io.fabric8.launcher.web.providers;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MultivaluedMap;
+
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogIndex;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
+
+/**
+ * Keeps the serialized /booster-catalog responses of the catalog in use, keyed by the normalized query parameters.
+ * <p>
+ * Up to {@code LAUNCHER_CATALOG_RESPONSE_CACHE_ENTRIES} variants are kept, least recently used evicted first.
+ * All of them are dropped as soon as a response for another catalog is requested, eg. after a reindex.
+ */
+@ApplicationScoped
+public class BoosterCatalogResponseCache {
+
+    private static final int MAX_ENTRIES = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_CATALOG_RESPONSE_CACHE_ENTRIES", "256"));
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private Variants variants;
+
+    /**
+     * @param index      the index of the catalog in use
+     * @param parameters the query parameters the response is filtered by
+     * @param serializer serializes the response if it is not cached yet
+     * @return the cached response
+     */
+    public CatalogResponse get(BoosterCatalogIndex index, MultivaluedMap<String, String> parameters, Supplier<byte[]> serializer) {
+        Variants current = variantsOf(index);
+        String key = new TreeMap<String, List<String>>(parameters).toString();
+        CatalogResponse response = current.get(key);
+        if (response != null) {
+            hits.incrementAndGet();
+            return response;
+        }
+        misses.incrementAndGet();
+        // Serialized outside of any lock, concurrent misses of the same variant just serialize it twice
+        response = new CatalogResponse(serializer.get());
+        current.put(key, response);
+        return response;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int getSize() {
+        return variants == null ? 0 : variants.size();
+    }
+
+    private synchronized Variants variantsOf(BoosterCatalogIndex index) {
+        if (variants == null || variants.index != index) {
+            // Responses of the previous catalog are never served again
+            variants = new Variants(index);
+        }
+        return variants;
+    }
+
+    /**
+     * The responses of a single catalog, least recently used evicted first
+     */
+    private static final class Variants {
+
+        private final BoosterCatalogIndex index;
+
+        private final Map<String, CatalogResponse> responses = new LinkedHashMap<String, CatalogResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CatalogResponse> eldest) {
+                return size() > MAX_ENTRIES;
+            }
+        };
+
+        private Variants(BoosterCatalogIndex index) {
+            this.index = index;
+        }
+
+        private synchronized CatalogResponse get(String key) {
+            return responses.get(key);
+        }
+
+        private synchronized void put(String key, CatalogResponse response) {
+            responses.putIfAbsent(key, response);
+        }
+
+        private synchronized int size() {
+            return responses.size();
+        }
+    }
+
+    /**
+     * A serialized response and its strong ETag
+     */
+    public static final class CatalogResponse {
+
+        private final byte[] body;
+
+        private final EntityTag etag;
+
+        CatalogResponse(byte[] body) {
+            this.body = body;
+            this.etag = new EntityTag(sha256Hex(body));
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public EntityTag getEtag() {
+            return etag;
+        }
+    }
+}
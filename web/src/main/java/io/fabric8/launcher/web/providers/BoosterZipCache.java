@@ -0,0 +1,212 @@
+package io.fabric8.launcher.web.providers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
+
+import io.fabric8.launcher.base.Paths;
+import io.fabric8.launcher.core.api.documentation.BoosterDocumentationStore;
+import io.fabric8.launcher.core.api.projectiles.context.DownloadZipProjectileContext;
+import io.fabric8.launcher.core.impl.catalog.RhoarBoosterCatalogFactory;
+import org.cache2k.Cache;
+import org.cache2k.Cache2kBuilder;
+import org.cache2k.event.CacheEntryEvictedListener;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+import static io.fabric8.launcher.base.Hashes.sha256Hex;
+import static io.fabric8.launcher.base.Paths.deleteDirectory;
+
+/**
+ * Caches the zips generated by /launcher/zip, keyed by a canonical hash of the request and the commits of the
+ * booster catalog and the documentation in use.
+ * <p>
+ * Zips are kept in memory up to {@code LAUNCHER_ZIP_CACHE_MEMORY_BYTES} and spilled to disk when evicted from memory,
+ * up to {@code LAUNCHER_ZIP_CACHE_DISK_ENTRIES} files.
+ * The cache is invalidated whenever a reindex swaps in a different booster catalog or the documentation is reloaded.
+ */
+@ApplicationScoped
+public class BoosterZipCache {
+
+    private static final Logger log = Logger.getLogger(BoosterZipCache.class.getName());
+
+    private static final long MEMORY_BYTES = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_ZIP_CACHE_MEMORY_BYTES", String.valueOf(64L * 1024 * 1024)));
+
+    private static final long DISK_ENTRIES = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_ZIP_CACHE_DISK_ENTRIES", "1000"));
+
+    /**
+     * Zips bigger than this are never cached
+     */
+    private static final int MAX_ENTRY_BYTES = 16 * 1024 * 1024;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong diskHits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    @Inject
+    RhoarBoosterCatalogFactory catalogFactory;
+
+    @Inject
+    BoosterDocumentationStore documentationStore;
+
+    private Path diskDirectory;
+
+    private Cache<String, byte[]> memory;
+
+    private Cache<String, Path> disk;
+
+    @PostConstruct
+    void initialize() {
+        try {
+            diskDirectory = Paths.createTempDirectory("zipcache");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create zip cache directory", e);
+        }
+        disk = Cache2kBuilder.of(String.class, Path.class)
+                .name("booster-zips-disk")
+                .eternal(true)
+                .entryCapacity(DISK_ENTRIES)
+                .addListener((CacheEntryEvictedListener<String, Path>) (cache, entry) -> deleteQuietly(entry.getValue()))
+                .build();
+        memory = Cache2kBuilder.of(String.class, byte[].class)
+                .name("booster-zips")
+                .eternal(true)
+                .weigher((key, value) -> value.length)
+                .maximumWeight(MEMORY_BYTES)
+                // Spill to disk
+                .addAsyncListener((CacheEntryEvictedListener<String, byte[]>) (cache, entry) -> spill(entry.getKey(), entry.getValue()))
+                .build();
+        catalogFactory.addReindexListener(reindex -> invalidate());
+    }
+
+    @PreDestroy
+    void destroy() {
+        memory.close();
+        disk.close();
+        try {
+            deleteDirectory(diskDirectory);
+        } catch (IOException e) {
+            log.log(Level.FINE, "Error while deleting " + diskDirectory, e);
+        }
+    }
+
+    /**
+     * @return a canonical key for the given input. Used as the ETag of the generated zip.
+     * Null if the commit of the catalog or of the documentation is not known, as the zip contents cannot be told apart
+     */
+    public String keyOf(DownloadZipProjectileContext input, String filename) {
+        Optional<String> catalogCommit = catalogFactory.getIndexedCommit();
+        Optional<String> documentationCommit = documentationStore.getDocumentationCommit();
+        if (!catalogCommit.isPresent() || !documentationCommit.isPresent()) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        appendField(sb, catalogCommit.get());
+        appendField(sb, documentationCommit.get());
+        appendField(sb, input.getMission().getId());
+        appendField(sb, input.getRuntime().getId());
+        appendField(sb, input.getRuntimeVersion() == null ? null : input.getRuntimeVersion().getId());
+        appendField(sb, input.getGroupId());
+        appendField(sb, input.getArtifactId());
+        appendField(sb, input.getProjectVersion());
+        // The preparers use the raw project name, not only the derived filename
+        appendField(sb, input.getProjectName());
+        appendField(sb, filename);
+        appendField(sb, new TreeSet<>(input.getSupportedIDEs()).toString());
+        return sha256Hex(sb.toString());
+    }
+
+    /**
+     * Appends a length-prefixed field, so null, empty and values containing separators never collide
+     */
+    private static void appendField(StringBuilder sb, String value) {
+        if (value == null) {
+            sb.append("-;");
+        } else {
+            sb.append(value.length()).append(':').append(value).append(';');
+        }
+    }
+
+    /**
+     * @return the cached zip for the given key, or null if not cached
+     */
+    public StreamingOutput get(String key) {
+        byte[] contents = memory.peek(key);
+        if (contents != null) {
+            hits.incrementAndGet();
+            return os -> os.write(contents);
+        }
+        Path file = disk.peek(key);
+        if (file != null && Files.isReadable(file)) {
+            diskHits.incrementAndGet();
+            return os -> Files.copy(file, os);
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void put(String key, byte[] contents) {
+        if (contents.length <= MAX_ENTRY_BYTES) {
+            memory.put(key, contents);
+        }
+    }
+
+    /**
+     * Removes all cached zips. Called when the booster catalog is swapped or the documentation is reloaded
+     */
+    public void invalidate() {
+        memory.clear();
+        disk.asMap().values().forEach(this::deleteQuietly);
+        disk.clear();
+        log.info("Booster zip cache invalidated");
+    }
+
+    public int maxEntrySize() {
+        return MAX_ENTRY_BYTES;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private void spill(String key, byte[] contents) {
+        Path file = diskDirectory.resolve(key + ".zip");
+        try (OutputStream os = Files.newOutputStream(file)) {
+            os.write(contents);
+            disk.put(key, file);
+        } catch (IOException e) {
+            log.log(Level.FINE, "Could not spill " + key + " to disk", e);
+            deleteQuietly(file);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.log(Level.FINE, "Error while deleting " + file, e);
+        }
+    }
+}
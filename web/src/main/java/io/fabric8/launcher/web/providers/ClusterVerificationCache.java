@@ -0,0 +1,56 @@
+package io.fabric8.launcher.web.providers;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import io.fabric8.launcher.base.RefreshingCache;
+import org.eclipse.microprofile.context.ManagedExecutor;
+
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
+
+/**
+ * Keeps the result of verifying the connection to each subscribed OpenShift cluster, per user and credentials.
+ * <p>
+ * Results are served for {@code LAUNCHER_CLUSTER_VERIFICATION_TTL_SECONDS} and refreshed in the background for up to
+ * {@code LAUNCHER_CLUSTER_VERIFICATION_MAX_STALE_SECONDS}. Verifying blocks on each cluster, so background refreshes
+ * run on the managed executor instead of the thread of the request that found the stale result.
+ */
+@ApplicationScoped
+public class ClusterVerificationCache {
+
+    private static final long TTL_SECONDS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_CLUSTER_VERIFICATION_TTL_SECONDS", "30"));
+
+    private static final long MAX_STALE_SECONDS = Long.parseLong(getEnvVarOrSysProp("LAUNCHER_CLUSTER_VERIFICATION_MAX_STALE_SECONDS", "300"));
+
+    private static final int MAX_ENTRIES = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_CLUSTER_VERIFICATION_ENTRIES", "10000"));
+
+    @Inject
+    ManagedExecutor executor;
+
+    private RefreshingCache<String, Collection<?>> cache;
+
+    @PostConstruct
+    void initialize() {
+        cache = new RefreshingCache<>(TimeUnit.SECONDS.toMillis(TTL_SECONDS), TimeUnit.SECONDS.toMillis(MAX_STALE_SECONDS),
+                                      MAX_ENTRIES, executor);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<Collection<T>> get(String key, Function<String, CompletableFuture<Collection<T>>> loader) {
+        return cache.get(key, k -> loader.apply(k).thenApply(c -> (Collection<?>) c))
+                .thenApply(c -> (Collection<T>) c);
+    }
+
+    /**
+     * Discards the verification for the given key, eg. because a cluster could not be reached
+     */
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+}
@@ -1,46 +1,230 @@
 package io.fabric8.launcher.web.providers;
 
 import io.fabric8.launcher.core.spi.DirectoryReaper;
-import org.eclipse.microprofile.context.ManagedExecutor;
+import io.quarkus.runtime.StartupEvent;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
-import javax.inject.Inject;
+import javax.enterprise.event.Observes;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import static io.fabric8.launcher.base.EnvironmentSupport.getEnvVarOrSysProp;
 import static io.fabric8.launcher.base.Paths.deleteDirectory;
+import static io.fabric8.launcher.base.Paths.tempDirectory;
 
 /**
  * Deletes temporary directories
+ * <p>
+ * Paths are first renamed into a trash directory (so they are gone from their original location right away)
+ * and then deleted in batches by a small pool of dedicated workers reading from a bounded queue.
+ * When the queue is full, the caller deletes the path itself.
+ * <p>
+ * On startup, the files left behind by a previous run in the launcher temporary directory
+ * (see {@link io.fabric8.launcher.base.Paths#tempDirectory()}) are deleted. Nothing else in {@code java.io.tmpdir} is touched.
  *
  * @author <a href="mailto:ggastald@redhat.com">George Gastaldi</a>
  */
 @ApplicationScoped
 public class DirectoryReaperImpl implements DirectoryReaper {
 
-    @Inject
-    ManagedExecutor executor;
-
     private static final Logger log = Logger.getLogger(DirectoryReaperImpl.class.getName());
 
+    private static final int QUEUE_SIZE = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_REAPER_QUEUE_SIZE", "1000"));
+
+    private static final int WORKERS = Integer.parseInt(getEnvVarOrSysProp("LAUNCHER_REAPER_WORKERS", "2"));
+
+    private static final int BATCH_SIZE = 50;
+
+    private static final String TRASH_DIRECTORY = "launcher-trash";
+
+    private final BlockingQueue<Task> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final AtomicLong deleted = new AtomicLong();
+
+    private final AtomicLong bytesFreed = new AtomicLong();
+
+    private final AtomicLong totalLatencyMillis = new AtomicLong();
+
+    private final AtomicLong maxLatencyMillis = new AtomicLong();
+
+    private final AtomicLong callerDeletions = new AtomicLong();
+
+    private Path tmpDirectory;
+
+    private Path trash;
+
+    // Initialize on startup
+    public void init(@Observes StartupEvent init) {
+        // Do nothing
+    }
+
+    @PostConstruct
+    void initialize() {
+        try {
+            tmpDirectory = tempDirectory();
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Could not create the launcher temporary directory, orphans will not be swept", e);
+        }
+        trash = java.nio.file.Paths.get(System.getProperty("java.io.tmpdir"), TRASH_DIRECTORY);
+        try {
+            Files.createDirectories(trash);
+        } catch (IOException e) {
+            log.log(Level.WARNING, "Could not create trash directory " + trash + ", paths will be deleted in place", e);
+            trash = null;
+        }
+        for (int i = 0; i < WORKERS; i++) {
+            Thread worker = new Thread(this::work, "directory-reaper-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+        sweepOrphans();
+    }
+
+    @PreDestroy
+    void destroy() {
+        workers.forEach(Thread::interrupt);
+    }
+
     @Override
     public void delete(Path path) {
         if (path != null) {
-            if (executor != null) {
-                executor.submit(() -> performDelete(path));
-            } else {
-                performDelete(path);
+            enqueue(new Task(moveToTrash(path)));
+        }
+    }
+
+    private void enqueue(Task task) {
+        if (!queue.offer(task)) {
+            // Queue is full, apply back pressure
+            callerDeletions.incrementAndGet();
+            perform(task);
+        }
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getDeleted() {
+        return deleted.get();
+    }
+
+    public long getBytesFreed() {
+        return bytesFreed.get();
+    }
+
+    public long getCallerDeletions() {
+        return callerDeletions.get();
+    }
+
+    public long getMaxLatencyMillis() {
+        return maxLatencyMillis.get();
+    }
+
+    public long getAverageLatencyMillis() {
+        long count = deleted.get();
+        return count == 0 ? 0 : totalLatencyMillis.get() / count;
+    }
+
+    /**
+     * Renames the given path into the trash directory. Returns the original path if that is not possible
+     */
+    private Path moveToTrash(Path path) {
+        if (trash != null) {
+            Path target = trash.resolve(UUID.randomUUID().toString());
+            try {
+                return Files.move(path, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                // Different file store, delete in place
+            } catch (IOException e) {
+                log.log(Level.FINE, "Could not move " + path + " to trash", e);
             }
         }
+        return path;
     }
 
-    private void performDelete(Path path) {
-        log.log(Level.INFO, "Deleting {0}", path);
+    private void work() {
+        List<Task> batch = new ArrayList<>(BATCH_SIZE);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                batch.forEach(this::perform);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void perform(Task task) {
+        log.log(Level.FINE, "Deleting {0}", task.path);
         try {
-            deleteDirectory(path);
+            bytesFreed.addAndGet(deleteDirectory(task.path));
         } catch (Exception e) {
-            log.log(Level.SEVERE, "Error while deleting" + path, e);
+            log.log(Level.SEVERE, "Error while deleting" + task.path, e);
+        }
+        long latency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - task.enqueuedAt);
+        deleted.incrementAndGet();
+        totalLatencyMillis.addAndGet(latency);
+        maxLatencyMillis.accumulateAndGet(latency, Math::max);
+    }
+
+    /**
+     * Deletes the temporary directories left behind by a previous run (eg. the pod was killed while launching)
+     */
+    private void sweepOrphans() {
+        long startTime = ManagementFactory.getRuntimeMXBean().getStartTime();
+        if (tmpDirectory != null) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(tmpDirectory)) {
+                for (Path orphan : stream) {
+                    if (Files.getLastModifiedTime(orphan).toMillis() < startTime) {
+                        delete(orphan);
+                    }
+                }
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Error while sweeping orphan directories in " + tmpDirectory, e);
+            }
+        }
+        if (trash != null) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(trash)) {
+                for (Path orphan : stream) {
+                    if (Files.getLastModifiedTime(orphan).toMillis() < startTime) {
+                        enqueue(new Task(orphan));
+                    }
+                }
+            } catch (IOException e) {
+                log.log(Level.WARNING, "Error while sweeping " + trash, e);
+            }
+        }
+    }
+
+    private static class Task {
+        private final Path path;
+
+        private final long enqueuedAt = System.nanoTime();
+
+        private Task(Path path) {
+            this.path = path;
         }
     }
 }
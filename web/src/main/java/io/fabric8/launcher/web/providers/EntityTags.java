@@ -0,0 +1,52 @@
+package io.fabric8.launcher.web.providers;
+
+import javax.ws.rs.core.EntityTag;
+
+/**
+ * Evaluates {@code If-None-Match} headers against the entity tag of a response
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+        throw new IllegalAccessError("Utility class");
+    }
+
+    /**
+     * Uses the weak comparison of RFC 7232, so {@code W/"x"} and {@code "x"} match each other.
+     *
+     * @param ifNoneMatch the {@code If-None-Match} header, may be null
+     * @param etag        the entity tag of the current representation
+     * @return true if the header is {@code *} or lists a tag with the same opaque value as the given one
+     */
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, EntityTag etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        int length = ifNoneMatch.length();
+        int i = 0;
+        while (i < length) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '*') {
+                return true;
+            } else {
+                if (ifNoneMatch.startsWith("W/", i)) {
+                    i += 2;
+                }
+                int end;
+                if (i < length && ifNoneMatch.charAt(i) == '"' && (end = ifNoneMatch.indexOf('"', i + 1)) > 0) {
+                    if (ifNoneMatch.substring(i + 1, end).equals(etag.getValue())) {
+                        return true;
+                    }
+                    i = end + 1;
+                } else {
+                    // Not a quoted tag, skip to the next list element
+                    int comma = ifNoneMatch.indexOf(',', i);
+                    i = comma < 0 ? length : comma + 1;
+                }
+            }
+        }
+        return false;
+    }
+}
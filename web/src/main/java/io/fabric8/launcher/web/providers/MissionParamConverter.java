@@ -6,7 +6,7 @@ import javax.inject.Inject;
 import javax.ws.rs.ext.ParamConverter;
 
 import io.fabric8.launcher.booster.catalog.rhoar.Mission;
-import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalog;
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogFactory;
 
 /**
  * @author <a href="mailto:ggastald@redhat.com">George Gastaldi</a>
@@ -16,17 +16,14 @@ public class MissionParamConverter implements ParamConverter<Mission> {
 
     // Cannot use constructor-type injection (gives NPE in CdiInjectorFactory)
     @Inject
-    Instance<RhoarBoosterCatalog> catalogInstance;
+    Instance<BoosterCatalogFactory> catalogFactoryInstance;
 
     @Override
     public Mission fromString(final String missionId) {
         if (missionId == null) {
             throw new IllegalArgumentException("Mission ID is required");
         } else {
-            RhoarBoosterCatalog catalog = catalogInstance.get();
-            return catalog.getMissions().stream()
-                    .filter(mission -> mission.getId().equals(missionId))
-                    .findFirst()
+            return catalogFactoryInstance.get().getCatalogIndex().getMission(missionId)
                     .orElseThrow(() -> new IllegalArgumentException("Mission does not exist: " + missionId));
         }
     }
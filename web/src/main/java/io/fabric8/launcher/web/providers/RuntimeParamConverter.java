@@ -5,8 +5,8 @@ import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.ws.rs.ext.ParamConverter;
 
-import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalog;
 import io.fabric8.launcher.booster.catalog.rhoar.Runtime;
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogFactory;
 
 /**
  * @author <a href="mailto:ggastald@redhat.com">George Gastaldi</a>
@@ -16,17 +16,14 @@ public class RuntimeParamConverter implements ParamConverter<Runtime> {
 
     // Cannot use constructor-type injection (gives NPE in CdiInjectorFactory)
     @Inject
-    Instance<RhoarBoosterCatalog> catalogInstance;
+    Instance<BoosterCatalogFactory> catalogFactoryInstance;
 
     @Override
     public Runtime fromString(String runtimeId) {
         if (runtimeId == null) {
             throw new IllegalArgumentException("Runtime ID is required");
         } else {
-            RhoarBoosterCatalog catalog = catalogInstance.get();
-            return catalog.getRuntimes().stream()
-                    .filter(runtime -> runtime.getId().equals(runtimeId))
-                    .findFirst()
+            return catalogFactoryInstance.get().getCatalogIndex().getRuntime(runtimeId)
                     .orElseThrow(() -> new IllegalArgumentException("Runtime does not exist: " + runtimeId));
         }
     }
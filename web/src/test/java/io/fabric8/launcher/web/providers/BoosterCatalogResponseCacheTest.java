@@ -0,0 +1,61 @@
+package io.fabric8.launcher.web.providers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import io.fabric8.launcher.booster.catalog.rhoar.RhoarBoosterCatalog;
+import io.fabric8.launcher.core.api.catalog.BoosterCatalogIndex;
+import io.fabric8.launcher.web.providers.BoosterCatalogResponseCache.CatalogResponse;
+import org.junit.Test;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class BoosterCatalogResponseCacheTest {
+
+    private final BoosterCatalogResponseCache cache = new BoosterCatalogResponseCache();
+
+    private final AtomicInteger serializations = new AtomicInteger();
+
+    @Test
+    public void should_serialize_each_variant_once() {
+        BoosterCatalogIndex index = newIndex();
+        MultivaluedMap<String, String> first = new MultivaluedHashMap<>();
+        first.add("mission", "rest-http");
+        first.add("runtime", "vert.x");
+        MultivaluedMap<String, String> sameInAnotherOrder = new MultivaluedHashMap<>();
+        sameInAnotherOrder.add("runtime", "vert.x");
+        sameInAnotherOrder.add("mission", "rest-http");
+
+        CatalogResponse response = cache.get(index, first, this::serialize);
+
+        assertThat(cache.get(index, sameInAnotherOrder, this::serialize)).isSameAs(response);
+        assertThat(serializations).hasValue(1);
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_drop_variants_of_previous_catalog() {
+        MultivaluedMap<String, String> parameters = new MultivaluedHashMap<>();
+        CatalogResponse response = cache.get(newIndex(), parameters, this::serialize);
+
+        CatalogResponse reindexed = cache.get(newIndex(), parameters, this::serialize);
+
+        assertThat(reindexed).isNotSameAs(response);
+        assertThat(reindexed.getEtag()).isNotEqualTo(response.getEtag());
+        assertThat(cache.getSize()).isEqualTo(1);
+    }
+
+    private byte[] serialize() {
+        return ("{\"version\":" + serializations.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static BoosterCatalogIndex newIndex() {
+        return BoosterCatalogIndex.of(mock(RhoarBoosterCatalog.class), emptyList());
+    }
+}
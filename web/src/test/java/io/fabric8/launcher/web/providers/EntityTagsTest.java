@@ -0,0 +1,30 @@
+package io.fabric8.launcher.web.providers;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.junit.Test;
+
+import static io.fabric8.launcher.web.providers.EntityTags.matchesIfNoneMatch;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EntityTagsTest {
+
+    private final EntityTag etag = new EntityTag("abc");
+
+    @Test
+    public void should_match_listed_tags_exactly() {
+        assertThat(matchesIfNoneMatch("\"abc\"", etag)).isTrue();
+        assertThat(matchesIfNoneMatch("\"xyz\", W/\"abc\"", etag)).isTrue();
+        assertThat(matchesIfNoneMatch(" \"xyz\" ,\"abc\" ", etag)).isTrue();
+        assertThat(matchesIfNoneMatch("*", etag)).isTrue();
+    }
+
+    @Test
+    public void should_not_match_tags_containing_the_value() {
+        assertThat(matchesIfNoneMatch(null, etag)).isFalse();
+        assertThat(matchesIfNoneMatch("\"abcd\"", etag)).isFalse();
+        assertThat(matchesIfNoneMatch("\"x\"abc\"\"", etag)).isFalse();
+        assertThat(matchesIfNoneMatch("abc", etag)).isFalse();
+        assertThat(matchesIfNoneMatch("\"a,\"abc\"", etag)).isFalse();
+    }
+}